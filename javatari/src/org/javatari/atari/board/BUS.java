@@ -8,14 +8,20 @@ import org.javatari.atari.pia.RAM;
 import org.javatari.atari.tia.TIA;
 import org.javatari.general.board.BUS16Bits;
 import org.javatari.general.board.ClockDriven;
+import org.javatari.general.m6502.CodeWindowBus;
+import org.javatari.general.m6502.IdleLoopBus;
 import org.javatari.general.m6502.M6502;
 import org.javatari.parameters.Parameters;
 import org.javatari.utils.Randomizer;
 
 
-public final class BUS implements BUS16Bits, ClockDriven {
+public final class BUS implements BUS16Bits, ClockDriven, CodeWindowBus, IdleLoopBus {
 
     private static final boolean DATA_RETENTION = Parameters.BUS_DATA_RETENTION;
+    private static final boolean INSTRUCTION_STEP = Parameters.CPU_INSTRUCTION_STEP;
+    // Device selected by each address of the 13 bit address space
+    private static final byte DEVICE_CART = 0, DEVICE_RAM = 1, DEVICE_PIA = 2, DEVICE_TIA = 3;
+    private static final byte[] DEVICES = new byte[0x2000];
     public final M6502 cpu;
     public final RAM ram;
     public final TIA tia;
@@ -24,6 +30,17 @@ public final class BUS implements BUS16Bits, ClockDriven {
     private byte data = 0;
     private boolean cartridgeNeedsClock = false;
     private boolean cartridgeNeedsBusMonitoring = false;
+    private int cartridgeMonitoredPages = 0;        // One bit per 256 bytes page of the 13 bit address space
+    private long cartridgeCycles = 0;        // Clock pulses already sent to the Cartridge in instruction step mode
+
+    static {
+        for (int address = 0; address < DEVICES.length; address++) {
+            if ((address & Cartridge.CHIP_MASK) == Cartridge.CHIP_SELECT) DEVICES[address] = DEVICE_CART;
+            else if ((address & RAM.CHIP_MASK) == RAM.CHIP_SELECT) DEVICES[address] = DEVICE_RAM;
+            else if ((address & PIA.CHIP_MASK) == PIA.CHIP_SELECT) DEVICES[address] = DEVICE_PIA;
+            else DEVICES[address] = DEVICE_TIA;
+        }
+    }
 
     public BUS(M6502 cpu, TIA tia, PIA pia, RAM ram) {
         this.cpu = cpu;
@@ -59,56 +76,126 @@ public final class BUS implements BUS16Bits, ClockDriven {
 
     @Override
     public void clockPulse() {
-        pia.clockPulse();
-        cpu.clockPulse();
+        cpu.clockPulse();                        // The PIA computes its timer from the CPU cycles when accessed
         if (cartridgeNeedsClock) cartridge.clockPulse();
     }
 
+    // Same as calling clockPulse() the given number of times.
+    // In instruction step mode the CPU runs entire instructions and the other devices catch up with it only when accessed
+    public void clockPulses(int quant) {
+        if (INSTRUCTION_STEP)
+            cpu.clockPulses(quant);
+        else
+            for (int i = quant; i > 0; i--) clockPulse();
+    }
+
+    // Brings the Cartridge up to the current CPU cycle in instruction step mode
+    public void catchUp() {
+        if (INSTRUCTION_STEP && cartridgeNeedsClock) cartridgeCatchUp(cpu.cycles);
+    }
+
+    private void cartridgeCatchUp(long cycles) {
+        for (long c = cycles - cartridgeCycles; c > 0; c--) cartridge.clockPulse();
+        cartridgeCycles = cycles;
+    }
+
+    // The Cartridge receives its pulse after the CPU in each cycle, so on access it is one cycle behind
+    private void cartridgeAccess() {
+        if (INSTRUCTION_STEP && cartridgeNeedsClock) cartridgeCatchUp(cpu.cycles - 1);
+    }
+
     @Override
     public byte readByte(int address) {
-        // CART Bus monitoring
-        if (cartridgeNeedsBusMonitoring) cartridge.monitorBusBeforeRead(address, data);
-
-        if ((address & Cartridge.CHIP_MASK) == Cartridge.CHIP_SELECT) {        // CART selected?
-            if (cartridge != null) data = cartridge.readByte(address);
-        } else if ((address & RAM.CHIP_MASK) == RAM.CHIP_SELECT)            // RAM selected?
-            data = ram.readByte(address);
-        else if ((address & PIA.CHIP_MASK) == PIA.CHIP_SELECT)                // PIA selected?
-            data = pia.readByte(address);
-        else                                                                // TIA selected...
-            // Only bit 7 and 6 are connected to TIA read registers.
-            if (DATA_RETENTION)
-                data = (byte) (data & 0x3f | tia.readByte(address));        // Use the retained data for bits 5-0
-            else
-                data = tia.readByte(address);                            // As if all bits were provided by TIA
+        final int decoded = address & 0x1fff;
+        // CART Bus monitoring, only on pages where the Cartridge has hotspots
+        if ((cartridgeMonitoredPages >>> (decoded >>> 8) & 1) != 0) cartridge.monitorBusBeforeRead(address, data);
+
+        switch (DEVICES[decoded]) {
+            case DEVICE_CART:
+                if (cartridge != null) {
+                    cartridgeAccess();
+                    data = cartridge.readByte(address);
+                }
+                break;
+            case DEVICE_RAM:
+                data = ram.readByte(address);
+                break;
+            case DEVICE_PIA:
+                data = pia.readByte(address);
+                break;
+            default:
+                if (INSTRUCTION_STEP) tia.catchUp();
+                // Only bit 7 and 6 are connected to TIA read registers.
+                if (DATA_RETENTION)
+                    data = (byte) (data & 0x3f | tia.readByte(address));        // Use the retained data for bits 5-0
+                else
+                    data = tia.readByte(address);                            // As if all bits were provided by TIA
+        }
 
         return data;
     }
 
     @Override
     public void writeByte(int address, byte b) {
-        // CART Bus monitoring
-        if (cartridgeNeedsBusMonitoring) cartridge.monitorBusBeforeWrite(address, b);
+        final int decoded = address & 0x1fff;
+        // CART Bus monitoring, only on pages where the Cartridge has hotspots
+        if ((cartridgeMonitoredPages >>> (decoded >>> 8) & 1) != 0) cartridge.monitorBusBeforeWrite(address, b);
 
         data = b;
 
-        if ((address & TIA.CHIP_MASK) == TIA.CHIP_SELECT) tia.writeByte(address, b);        // TIA selected?
-        else if ((address & RAM.CHIP_MASK) == RAM.CHIP_SELECT) ram.writeByte(address, b);    // RAM selected?
-        else if ((address & PIA.CHIP_MASK) == PIA.CHIP_SELECT) pia.writeByte(address, b);    // PIA selected?
-        else                                                                                // CART selected...
-            if (cartridge != null) cartridge.writeByte(address, b);
+        switch (DEVICES[decoded]) {
+            case DEVICE_TIA:
+                if (INSTRUCTION_STEP) tia.catchUp();
+                tia.writeByte(address, b);
+                break;
+            case DEVICE_RAM:
+                ram.writeByte(address, b);
+                break;
+            case DEVICE_PIA:
+                pia.writeByte(address, b);
+                break;
+            default:
+                if (cartridge != null) {
+                    cartridgeAccess();
+                    cartridge.writeByte(address, b);
+                }
+        }
+    }
+
+    @Override
+    public void requestCodeWindow(int address, M6502 cpu) {
+        // Only Cartridges not affected by reads outside their area can have code fetched directly
+        if (DEVICES[address & 0x1fff] == DEVICE_CART && cartridge != null
+                && !cartridgeNeedsBusMonitoring && !cartridgeNeedsClock)
+            cartridge.requestCodeWindow(address, cpu);
+    }
+
+    @Override
+    public void codeWindowFetched(byte b) {
+        data = b;
+    }
+
+    @Override
+    public int idleLoopCycles(int address, int readDelay, int period, int mask, boolean exitWhenZero) {
+        // Only PIA timer polling can be predicted. Cartridges monitoring the bus would miss the skipped accesses
+        if (DEVICES[address & 0x1fff] != DEVICE_PIA || cartridgeNeedsBusMonitoring) return 0;
+        return pia.timerPollingCycles(address, readDelay, period, mask, exitWhenZero);
     }
 
     public void cartridge(Cartridge cartridge) {
         this.cartridge = cartridge;
+        cpu.closeCodeWindow();
         if (cartridge != null) {
             data = 0;
             cartridge.connectBus(this);
             cartridgeNeedsClock = cartridge.needsClock();
             cartridgeNeedsBusMonitoring = cartridge.needsBusMonitoring();
+            cartridgeMonitoredPages = cartridgeNeedsBusMonitoring ? cartridge.busMonitoringPages() : 0;
+            cartridgeCycles = cpu.cycles;
         } else {
             cartridgeNeedsClock = false;
             cartridgeNeedsBusMonitoring = false;
+            cartridgeMonitoredPages = 0;
         }
     }
 
@@ -8,6 +8,7 @@ import org.javatari.atari.controls.ConsoleControls.Control;
 import org.javatari.atari.controls.ConsoleControlsInput;
 import org.javatari.general.board.BUS16Bits;
 import org.javatari.general.board.ClockDriven;
+import org.javatari.general.m6502.M6502;
 
 import java.io.Serializable;
 import java.util.Map;
@@ -23,6 +24,7 @@ public abstract class Cartridge implements BUS16Bits, ClockDriven, Cloneable, Se
     private final CartridgeFormat format;
     protected byte[] bytes;        // for fast access to ROM content
     protected int maskedAddress;
+    private transient M6502 codeWindowCPU;
 
     protected Cartridge(ROM rom, CartridgeFormat format) {
         this.rom = rom;
@@ -95,10 +97,35 @@ public abstract class Cartridge implements BUS16Bits, ClockDriven, Cloneable, Se
         return false;
     }
 
+    // Pages of 256 bytes of the 13 bit address space (bit n = addresses n * 256 to n * 256 + 255) where accesses
+    // must be monitored, if needsBusMonitoring(). Accesses on other pages are not informed
+    public int busMonitoringPages() {
+        return 0xffffffff;
+    }
+
     protected void maskAddress(int address) {
         maskedAddress = address & ADDRESS_MASK;
     }
 
+    // Called only if the Cartridge does not need clock or bus monitoring.
+    // Should open a code window in the CPU if the contents around the address are static and readable without side effects
+    public void requestCodeWindow(int address, M6502 cpu) {
+        // Nothing
+    }
+
+    // Addresses from start to end - 1 will be fetched by the CPU directly from bytes[address + offset]
+    protected void openCodeWindow(M6502 cpu, int start, int end, int offset) {
+        codeWindowCPU = cpu;
+        cpu.openCodeWindow(bytes, start, end, offset);
+    }
+
+    // Must be called whenever the contents mapped in an open window may have changed
+    protected void closeCodeWindow() {
+        if (codeWindowCPU == null) return;
+        codeWindowCPU.closeCodeWindow();
+        codeWindowCPU = null;
+    }
+
     @Override
     public Cartridge clone() {
         try {
@@ -58,6 +58,7 @@ public class Cartridge10K_DPC extends CartridgeBankedByMaskedRange {
 
     @Override
     public void connectBus(BUS bus) {
+        super.connectBus(bus);
         this.bus = bus;
     }
 
@@ -71,8 +72,7 @@ public class Cartridge10K_DPC extends CartridgeBankedByMaskedRange {
         maskAddress(address);
         if (maskedAddress <= 0x03f || (maskedAddress >= 0x800 && maskedAddress <= 0x83f))    // DPC register read
             return readDPCRegister(maskedAddress & 0x00ff);
-        // Always add the correct bank offset
-        return bytes[bankAddressOffset + maskedAddress];    // ROM
+        return readPage();    // ROM
     }
 
     @Override
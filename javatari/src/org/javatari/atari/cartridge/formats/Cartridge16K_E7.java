@@ -42,19 +42,13 @@ public final class Cartridge16K_E7 extends CartridgeBanked {
     }
 
     @Override
-    public byte readByte(int address) {
-        maskAddress(address);
-        // Check for Extra RAM Slice1 (always ON)
-        if (maskedAddress >= 0x0900 && maskedAddress <= 0x09ff)
-            return extraRAM[extraRAMSlice1Offset + maskedAddress - 0x0900];
-        // Check for Extra RAM Slice0
-        if (extraRAMSlice0Active && maskedAddress >= 0x0400 && maskedAddress <= 0x07ff)
-            return extraRAM[maskedAddress - 0x0400];
-        // ROM
-        if (maskedAddress < ROM_FIXED_SLICE_START)
-            return bytes[bankAddressOffset + maskedAddress];        // ROM Selectable Slice
-        else
-            return bytes[ROM_FIXED_SLICE_OFFSET + maskedAddress];    // ROM Fixed Slice
+    protected void updatePages() {
+        mapPages(0, ROM_FIXED_SLICE_START, bytes, bankAddressOffset);                // ROM Selectable Slice
+        mapPages(ROM_FIXED_SLICE_START, 0x1000, bytes, ROM_FIXED_SLICE_OFFSET);    // ROM Fixed Slice
+        // Extra RAM Slice0
+        if (extraRAMSlice0Active) mapPages(0x0400, 0x0800, extraRAM, -0x0400);
+        // Extra RAM Slice1 (always ON)
+        mapPages(0x0900, 0x0a00, extraRAM, extraRAMSlice1Offset - 0x0900);
     }
 
     @Override
@@ -80,6 +74,12 @@ public final class Cartridge16K_E7 extends CartridgeBanked {
             extraRAMSlice0Active = true;
         else if (/* maskedAddress >= 0x0fe8 && */ maskedAddress <= 0x0feb)    // Extra RAM Slice1
             extraRAMSlice1Offset = EXTRA_RAM_SLICE1_START + EXTRA_RAM_SLICE1_BANK_SIZE * (maskedAddress - 0x0fe8);
+        updatePages();
+    }
+
+    @Override
+    protected int bankSwitchPages() {
+        return pages(0x0fe0, 0x0fec);
     }
 
     @Override
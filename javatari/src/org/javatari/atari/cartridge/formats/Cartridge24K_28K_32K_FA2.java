@@ -8,6 +8,7 @@ import org.javatari.atari.cartridge.CartridgeFormat;
 import org.javatari.atari.cartridge.CartridgeFormatOption;
 import org.javatari.atari.cartridge.ROM;
 import org.javatari.atari.console.savestate.SaveStateSocket;
+import org.javatari.general.m6502.M6502;
 
 import java.util.Arrays;
 
@@ -52,6 +53,7 @@ public class Cartridge24K_28K_32K_FA2 extends CartridgeBankedByMaskedRange {
 
     @Override
     public void connectBus(BUS bus) {
+        super.connectBus(bus);
         this.bus = bus;
     }
 
@@ -84,6 +86,11 @@ public class Cartridge24K_28K_32K_FA2 extends CartridgeBankedByMaskedRange {
         else return (byte) (b & 0xbf);                                // Finished, clear bit 6
     }
 
+    @Override
+    public void requestCodeWindow(int address, M6502 cpu) {
+        // No direct code fetching as the Flash Operation Hotspot is not at the bank switching range
+    }
+
     private void performFlashOperation(int op) {
         harmonyFlashOpInProgress = op;
         harmonyFlashOpStartTime = System.currentTimeMillis();
@@ -102,6 +109,7 @@ public class Cartridge24K_28K_32K_FA2 extends CartridgeBankedByMaskedRange {
                 // Give up
             }
         extraRAM = Arrays.copyOf(harmonyFlashMemory, extraRAM.length);
+        updatePages();
     }
 
     private void saveMemoryToFlash() {
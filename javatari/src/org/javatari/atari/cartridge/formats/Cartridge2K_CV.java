@@ -10,7 +10,7 @@ import org.javatari.atari.cartridge.ROM;
 /**
  * Implements the 2K "CV" Commavid + 1K RAM format
  */
-public final class Cartridge2K_CV extends Cartridge {
+public final class Cartridge2K_CV extends CartridgeBanked {
 
     public static final long serialVersionUID = 1L;
     private static final int SIZE = 2048;
@@ -41,12 +41,10 @@ public final class Cartridge2K_CV extends Cartridge {
     }
 
     @Override
-    public byte readByte(int address) {
-        maskAddress(address);
-        // Check for Extra RAM reads
-        if (maskedAddress < 0x0400)                // RAM
-            return extraRAM[maskedAddress];
-        return bytes[maskedAddress];            // ROM
+    protected void updatePages() {
+        // Extra RAM reads
+        mapPages(0x0000, 0x0400, extraRAM, 0);        // RAM
+        mapPages(0x0400, 0x1000, bytes, 0);           // ROM
     }
 
     @Override
@@ -57,6 +55,16 @@ public final class Cartridge2K_CV extends Cartridge {
             extraRAM[maskedAddress - 0x0400] = b;
     }
 
+    @Override
+    protected void performBankSwitchOnMaskedAddress() {
+        // No bank switching, only the fixed RAM and ROM areas
+    }
+
+    @Override
+    protected int bankSwitchPages() {
+        return 0;
+    }
+
     @Override
     public Cartridge2K_CV clone() {
         Cartridge2K_CV clone = (Cartridge2K_CV) super.clone();
@@ -6,6 +6,7 @@ import org.javatari.atari.cartridge.Cartridge;
 import org.javatari.atari.cartridge.CartridgeFormat;
 import org.javatari.atari.cartridge.CartridgeFormatOption;
 import org.javatari.atari.cartridge.ROM;
+import org.javatari.general.m6502.M6502;
 
 
 /**
@@ -42,5 +43,12 @@ public final class Cartridge4K extends Cartridge {
             System.arraycopy(rom.content, 0, bytes, pos, len);
     }
 
+    @Override
+    public void requestCodeWindow(int address, M6502 cpu) {
+        // All the 4K area is static
+        final int start = address & ~(MAX_SIZE - 1);
+        openCodeWindow(cpu, start, start + MAX_SIZE, -start);
+    }
+
 }
 
@@ -40,8 +40,14 @@ public final class Cartridge64K_F0 extends CartridgeBanked {
         if (maskedAddress == BANKSW_ADDRESS) {    // Bank selection. Increments bank
             bankAddressOffset += BANK_SIZE;
             if (bankAddressOffset >= SIZE) bankAddressOffset = 0;
+            updatePages();
         }
     }
 
+    @Override
+    protected int bankSwitchPages() {
+        return pages(BANKSW_ADDRESS, BANKSW_ADDRESS + 1);
+    }
+
 }
 
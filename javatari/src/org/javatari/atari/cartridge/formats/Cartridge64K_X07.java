@@ -35,12 +35,17 @@ public class Cartridge64K_X07 extends CartridgeBankedByBusMonitoring {
         super(rom, FORMAT);
     }
 
+    @Override
+    public int busMonitoringPages() {
+        return 0x0000ffff;        // Hotspots at 080d-0fff (method 1) and 0000-07ff (method 2)
+    }
+
     @Override
     protected void performBankSwitchOnMonitoredAccess(int address) {
         if ((address & 0x180f) == 0x080d)        // Method 1
-            bankAddressOffset = ((address & 0x00f0) >> 4) * BANK_SIZE;    // Pick bank from bits 7-4
+            selectBank(((address & 0x00f0) >> 4) * BANK_SIZE);    // Pick bank from bits 7-4
         else if (bankAddressOffset >= BANK_14_ADDRESS && (address & 0x1880) == 0x0000)    // Method 2, only if at bank 14 or 15
-            bankAddressOffset = ((address & 0x0040) == 0 ? 14 : 15) * BANK_SIZE;    // Pick bank 14 or 15 from bit 6
+            selectBank(((address & 0x0040) == 0 ? 14 : 15) * BANK_SIZE);    // Pick bank 14 or 15 from bit 6
     }
 
 }
@@ -34,14 +34,18 @@ public class Cartridge8K_0840 extends CartridgeBankedByBusMonitoring {
         super(rom, FORMAT);
     }
 
+    @Override
+    public int busMonitoringPages() {
+        return 0x0000ff00;        // Hotspots at 0800-0fff
+    }
+
     @Override
     protected void performBankSwitchOnMonitoredAccess(int address) {
         int addrBank = address & 0x1840;
-        if (addrBank == 0x0800) {
-            if (bankAddressOffset != 0) bankAddressOffset = 0;
-        } else if (addrBank == 0x0840) {
-            if (bankAddressOffset != BANK_SIZE) bankAddressOffset = BANK_SIZE;
-        }
+        if (addrBank == 0x0800)
+            selectBank(0);
+        else if (addrBank == 0x0840)
+            selectBank(BANK_SIZE);
     }
 
 }
@@ -38,14 +38,10 @@ public final class Cartridge8K_512K_3E extends Cartridge8K_512K_3F {
     }
 
     @Override
-    public byte readByte(int address) {
-        maskAddress(address);
-        if (maskedAddress >= FIXED_SLICE_START_ADDRESS)                            // ROM Fixed Slice
-            return bytes[fixedSliceAddressOffset + maskedAddress];
-        else if (extraRAMBankAddressOffset >= 0 && maskedAddress < 0x0400)        // RAM
-            return extraRAM[extraRAMBankAddressOffset + maskedAddress];
-        else
-            return bytes[bankAddressOffset + maskedAddress];                // ROM Selectable Slice
+    protected void updatePages() {
+        super.updatePages();                                                        // ROM Slices
+        if (extraRAMBankAddressOffset >= 0)                                         // RAM
+            mapPages(0, 0x0400, extraRAM, extraRAMBankAddressOffset);
     }
 
     @Override
@@ -67,6 +63,7 @@ public final class Cartridge8K_512K_3E extends Cartridge8K_512K_3F {
             if (bank <= selectableSliceMaxBank) {
                 bankAddressOffset = bank * BANK_SIZE;
                 extraRAMBankAddressOffset = -1;
+                updatePages();
             }
             return;
         }
@@ -75,6 +72,7 @@ public final class Cartridge8K_512K_3E extends Cartridge8K_512K_3F {
             int bank = data & 0xff;        // unsigned
             adjustExtraRAMSize(bank);
             extraRAMBankAddressOffset = bank * EXTRA_RAM_BANK_SIZE;
+            updatePages();
         }
     }
 
@@ -42,12 +42,9 @@ public class Cartridge8K_512K_3F extends CartridgeBankedByBusMonitoring {
     }
 
     @Override
-    public byte readByte(int address) {
-        maskAddress(address);
-        if (maskedAddress >= FIXED_SLICE_START_ADDRESS)            // Fixed slice
-            return bytes[fixedSliceAddressOffset + maskedAddress];
-        else
-            return bytes[bankAddressOffset + maskedAddress];    // Selectable slice
+    protected void updatePages() {
+        mapPages(0, FIXED_SLICE_START_ADDRESS, bytes, bankAddressOffset);                // Selectable slice
+        mapPages(FIXED_SLICE_START_ADDRESS, 0x1000, bytes, fixedSliceAddressOffset);    // Fixed slice
     }
 
     @Override
@@ -61,10 +58,15 @@ public class Cartridge8K_512K_3F extends CartridgeBankedByBusMonitoring {
         if (address <= 0x003f) {
             int bank = data & 0xff;        // unsigned
             if (bank <= selectableSliceMaxBank)
-                bankAddressOffset = bank * BANK_SIZE;
+                selectBank(bank * BANK_SIZE);
         }
     }
 
+    @Override
+    public int busMonitoringPages() {
+        return 0x00000001;        // Hotspots at 0000-003f
+    }
+
     @Override
     protected void performBankSwitchOnMonitoredAccess(int address) {
         // Bank switching is done only on monitored writes
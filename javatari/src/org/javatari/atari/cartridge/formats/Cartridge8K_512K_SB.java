@@ -38,13 +38,18 @@ public class Cartridge8K_512K_SB extends CartridgeBankedByBusMonitoring {
         maxBank = bytes.length / BANK_SIZE - 1;
     }
 
+    @Override
+    public int busMonitoringPages() {
+        return 0x0000ff00;        // Hotspots at 0800-0fff
+    }
+
     @Override
     protected void performBankSwitchOnMonitoredAccess(int address) {
         // Perform bank switching as needed
         if ((address & 0x1800) != 0x0800) return;
         int bank = address & 0x007f;
         if (bank > maxBank) return;
-        bankAddressOffset = bank * BANK_SIZE;
+        selectBank(bank * BANK_SIZE);
     }
 
 }
@@ -82,18 +82,20 @@ public final class Cartridge8K_64K_AR extends CartridgeBankedByBusMonitoring {
 
     @Override
     public void connectBus(BUS bus) {
+        super.connectBus(bus);
         this.bus = bus;
     }
 
     @Override
     public byte readByte(int address) {
         // maskedAddress already set on bus monitoring method
-        // bank0
-        if (maskedAddress < BANK_SIZE)
-            return bytes[bank0AddressOffset + maskedAddress];
-        else
-            // bank1
-            return bytes[bank1AddressOffset + maskedAddress - BANK_SIZE];
+        return readPage();
+    }
+
+    @Override
+    protected void updatePages() {
+        mapPages(0, BANK_SIZE, bytes, bank0AddressOffset);                            // bank0
+        mapPages(BANK_SIZE, 2 * BANK_SIZE, bytes, bank1AddressOffset - BANK_SIZE);    // bank1
     }
 
     @Override
@@ -193,6 +195,7 @@ public final class Cartridge8K_64K_AR extends CartridgeBankedByBusMonitoring {
             default:
                 throw new IllegalStateException("Invalid bank configuration");
         }
+        updatePages();
         addressChangeCountdown = 0;    // Setting ControlRegister cancels any pending write
         writeEnabled = (controlRegister & 0x02) != 0;
         //boolean biosRomPower = (controlRegister & 0x01) == 0;
@@ -39,17 +39,13 @@ public final class Cartridge8K_E0 extends CartridgeBanked {
     }
 
     @Override
-    public byte readByte(int address) {
-        maskAddress(address);
+    protected void updatePages() {
         // Always add the correct offset to access bank selected on the corresponding slice
-        if (maskedAddress < 0x0400)        // Slice 0
-            return bytes[slice0AddressOffset + maskedAddress];
-        if (maskedAddress < 0x0800)        // Slice 1
-            return bytes[slice1AddressOffset + maskedAddress - 0x0400];
-        if (maskedAddress < 0x0c00)        // Slice 2
-            return bytes[slice2AddressOffset + maskedAddress - 0x0800];
+        mapPages(0x0000, 0x0400, bytes, slice0AddressOffset);             // Slice 0
+        mapPages(0x0400, 0x0800, bytes, slice1AddressOffset - 0x0400);    // Slice 1
+        mapPages(0x0800, 0x0c00, bytes, slice2AddressOffset - 0x0800);    // Slice 2
         // Slice 3 (0x0c00 - 0x0fff) is always at 0x1c00 (bank 7)
-        return bytes[0x1000 + maskedAddress];
+        mapPages(0x0c00, 0x1000, bytes, 0x1000);
     }
 
     @Override
@@ -65,6 +61,12 @@ public final class Cartridge8K_E0 extends CartridgeBanked {
             slice1AddressOffset = (maskedAddress - 0x0fe8) * 0x0400;
         else if (/* maskedAddress >= 0x0ff0 && */ maskedAddress <= 0x0ff7)    // Slice 2 bank selection
             slice2AddressOffset = (maskedAddress - 0x0ff0) * 0x0400;
+        updatePages();
+    }
+
+    @Override
+    protected int bankSwitchPages() {
+        return pages(0x0fe0, 0x0ff8);
     }
 
 }
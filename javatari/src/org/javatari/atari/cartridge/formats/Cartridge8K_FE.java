@@ -38,11 +38,10 @@ public final class Cartridge8K_FE extends CartridgeBanked {
     @Override
     public void maskAddress(int address) {
         // Bankswitching: Look at the address to determine the correct bank to be
-        if ((address & 0x2000) != 0) {        // Check bit 13. Address is like Fxxx or Dxxx?
-            if (bankAddressOffset != 0) bankAddressOffset = 0;
-        } else {
-            if (bankAddressOffset != BANK_SIZE) bankAddressOffset = BANK_SIZE;
-        }
+        if ((address & 0x2000) != 0)        // Check bit 13. Address is like Fxxx or Dxxx?
+            selectBank(0);
+        else
+            selectBank(BANK_SIZE);
         super.maskAddress(address);
     }
 
@@ -52,4 +51,9 @@ public final class Cartridge8K_FE extends CartridgeBanked {
         // Its done directly before masking address
     }
 
+    @Override
+    protected int bankSwitchPages() {
+        return 0;
+    }
+
 }
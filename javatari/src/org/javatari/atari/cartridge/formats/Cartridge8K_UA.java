@@ -34,13 +34,17 @@ public class Cartridge8K_UA extends CartridgeBankedByBusMonitoring {
         super(rom, FORMAT);
     }
 
+    @Override
+    public int busMonitoringPages() {
+        return 0x00000004;        // Hotspots at 0220 and 0240
+    }
+
     @Override
     protected void performBankSwitchOnMonitoredAccess(int address) {
-        if (address == 0x0220) {
-            if (bankAddressOffset != 0) bankAddressOffset = 0;
-        } else if (address == 0x0240) {
-            if (bankAddressOffset != BANK_SIZE) bankAddressOffset = BANK_SIZE;
-        }
+        if (address == 0x0220)
+            selectBank(0);
+        else if (address == 0x0240)
+            selectBank(BANK_SIZE);
     }
 
 }
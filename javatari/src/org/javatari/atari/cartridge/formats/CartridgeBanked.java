@@ -2,6 +2,7 @@
 
 package org.javatari.atari.cartridge.formats;
 
+import org.javatari.atari.board.BUS;
 import org.javatari.atari.cartridge.Cartridge;
 import org.javatari.atari.cartridge.CartridgeFormat;
 import org.javatari.atari.cartridge.ROM;
@@ -9,30 +10,92 @@ import org.javatari.atari.cartridge.ROM;
 /**
  * Implements the generic bank switching method with address offset
  * Used by several n * xK bank formats
+ * Reads are served by a table of pages mapped into the ROM or RAM contents, updated on every bank switching
  */
 public abstract class CartridgeBanked extends Cartridge {
 
     public static final long serialVersionUID = 1L;
+    protected static final int PAGE_SHIFT = 7;                // Pages of 128 bytes, the smallest area mapped (SuperChip RAM)
+    private static final int PAGES = 4096 >>> PAGE_SHIFT;
     protected int bankAddressOffset = 0;
+    // Not part of the state. Rebuilt when connected to the BUS
+    private transient byte[][] pageContents;
+    private transient int[] pageOffsets;
+    private transient int bankSwitchPages;
 
     CartridgeBanked(ROM rom, CartridgeFormat format) {
         super(rom, format);
+        createPages();
+    }
+
+    @Override
+    public void connectBus(BUS bus) {
+        createPages();
+        bankSwitchPages = bankSwitchPages();
+        updatePages();
     }
 
     @Override
     public byte readByte(int address) {
         maskAddress(address);
-        // Always add the correct offset to access bank selected
-        return bytes[bankAddressOffset + maskedAddress];
+        return readPage();
     }
 
     @Override
     public void maskAddress(int address) {
         super.maskAddress(address);
-        // Perform bank switching as needed
-        performBankSwitchOnMaskedAddress();
+        // Perform bank switching as needed, only on pages containing hotspots
+        if ((bankSwitchPages >>> (maskedAddress >>> PAGE_SHIFT) & 1) != 0) performBankSwitchOnMaskedAddress();
     }
 
     protected abstract void performBankSwitchOnMaskedAddress();
 
+    // Pages of the masked address space (bit n = addresses n * 128 to n * 128 + 127) where accesses may switch banks
+    protected int bankSwitchPages() {
+        return 0xffffffff;
+    }
+
+    // Maps all the pages according to the current banking state. Must be called whenever it changes
+    protected void updatePages() {
+        mapPages(0, 4096, bytes, bankAddressOffset);
+    }
+
+    // Selects the bank at offset, updating the pages if changed
+    protected void selectBank(int offset) {
+        if (offset == bankAddressOffset) return;
+        bankAddressOffset = offset;
+        updatePages();
+    }
+
+    // Reads from the content mapped at the current maskedAddress
+    protected final byte readPage() {
+        final int page = maskedAddress >>> PAGE_SHIFT;
+        return pageContents[page][pageOffsets[page] + maskedAddress];
+    }
+
+    // Masked addresses from start to end - 1 will be read from content[address + offset]. Limits must be page aligned
+    protected final void mapPages(int start, int end, byte[] content, int offset) {
+        for (int page = start >>> PAGE_SHIFT, last = end >>> PAGE_SHIFT; page < last; page++) {
+            pageContents[page] = content;
+            pageOffsets[page] = offset;
+        }
+    }
+
+    // Bitmap of the pages covering masked addresses from start to end - 1
+    protected static int pages(int start, int end) {
+        return (-1 >>> (31 - ((end - 1) >>> PAGE_SHIFT))) & (-1 << (start >>> PAGE_SHIFT));
+    }
+
+    private void createPages() {
+        pageContents = new byte[PAGES][];
+        pageOffsets = new int[PAGES];
+    }
+
+    @Override
+    public CartridgeBanked clone() {
+        CartridgeBanked clone = (CartridgeBanked) super.clone();
+        clone.createPages();        // Mapped when connected
+        return clone;
+    }
+
 }
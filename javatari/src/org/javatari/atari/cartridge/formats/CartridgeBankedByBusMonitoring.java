@@ -37,6 +37,11 @@ public abstract class CartridgeBankedByBusMonitoring extends CartridgeBanked {
         // Its done directly via bus monitoring
     }
 
+    @Override
+    protected int bankSwitchPages() {
+        return 0;
+    }
+
     protected abstract void performBankSwitchOnMonitoredAccess(int address);
 
 }
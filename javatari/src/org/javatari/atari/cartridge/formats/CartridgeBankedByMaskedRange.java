@@ -4,6 +4,7 @@ package org.javatari.atari.cartridge.formats;
 
 import org.javatari.atari.cartridge.CartridgeFormat;
 import org.javatari.atari.cartridge.ROM;
+import org.javatari.general.m6502.M6502;
 
 import java.util.Arrays;
 
@@ -43,32 +44,58 @@ public abstract class CartridgeBankedByMaskedRange extends CartridgeBanked {
         extraRAM = (superChip == null || superChip) ? Arrays.copyOf(bytes, extraRAMSize) : null;
     }
 
-    @Override
-    public byte readByte(int address) {
-        maskAddress(address);
-        // Check for SuperChip Extra RAM reads
-        if (superChipMode && (maskedAddress >= extraRAMSize) && (maskedAddress < extraRAMSize * 2))
-            return extraRAM[maskedAddress - extraRAMSize];
-        else
-            // Always add the correct offset to access bank selected
-            return bytes[bankAddressOffset + maskedAddress];
-    }
-
     @Override
     public void writeByte(int address, byte b) {
         maskAddress(address);
         // Check for Extra RAM writes and then turn superChip mode on
         if (maskedAddress < extraRAMSize && (superChipMode || superChipAutoDetect)) {
-            if (!superChipMode) superChipMode = true;
+            if (!superChipMode) {
+                superChipMode = true;
+                updatePages();
+            }
             extraRAM[maskedAddress] = b;
         }
     }
 
+    @Override
+    protected int bankSwitchPages() {
+        return pages(baseBankSwitchAddress, topBankSwitchAddress + 1);
+    }
+
+    @Override
+    protected void updatePages() {
+        super.updatePages();
+        // SuperChip Extra RAM reads
+        if (superChipMode) mapPages(extraRAMSize, extraRAMSize * 2, extraRAM, -extraRAMSize);
+    }
+
     @Override
     protected void performBankSwitchOnMaskedAddress() {
         // Check and perform bank-switch as necessary
-        if (maskedAddress >= baseBankSwitchAddress && maskedAddress <= topBankSwitchAddress)
-            bankAddressOffset = romStartAddress + BANK_SIZE * (maskedAddress - baseBankSwitchAddress);
+        if (maskedAddress >= baseBankSwitchAddress && maskedAddress <= topBankSwitchAddress) {
+            final int offset = romStartAddress + BANK_SIZE * (maskedAddress - baseBankSwitchAddress);
+            if (offset == bankAddressOffset) return;
+            bankAddressOffset = offset;
+            updatePages();
+            closeCodeWindow();
+        }
+    }
+
+    @Override
+    public void requestCodeWindow(int address, M6502 cpu) {
+        // Window can span the current bank avoiding the bank switching addresses and the Extra RAM area
+        final int masked = address & (BANK_SIZE - 1);
+        final int from, to;
+        if (masked < baseBankSwitchAddress) {
+            from = extraRAM != null ? extraRAMSize * 2 : 0;
+            to = baseBankSwitchAddress;
+        } else if (masked > topBankSwitchAddress) {
+            from = topBankSwitchAddress + 1;
+            to = BANK_SIZE;
+        } else return;
+        if (masked < from) return;
+        final int base = address - masked;
+        openCodeWindow(cpu, base + from, base + to, bankAddressOffset - base);
     }
 
     @Override
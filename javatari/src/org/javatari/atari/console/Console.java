@@ -30,6 +30,8 @@ import java.util.Map;
 public class Console {
 
     private static final float ALTERNATE_CLOCK_FACTOR = Parameters.CONSOLE_ALTERNATE_CLOCK_FACTOR;
+    protected static final Clock.Pacing CLOCK_PACING = Clock.Pacing.values()[Parameters.CONSOLE_CLOCK_PACING];
+    private static final boolean AUDIO_CLOCK_PACING = Parameters.CONSOLE_AUDIO_CLOCK_PACING;
     public boolean powerOn = false;
     protected BUS bus;
     protected M6502 cpu;
@@ -115,6 +117,11 @@ public class Console {
         showOSD((videoStandardAuto ? "AUTO: " : "") + videoStandard.toString(), false);
     }
 
+    // Generates ratio frames per clock, rendering only the last one. Frames skipped still have exact collisions
+    public void frameSkip(int ratio) {
+        tia.framePattern(new int[] {Math.max(ratio, 1)}, ratio > 1);
+    }
+
     public void go() {
         mainClock.go();
     }
@@ -192,19 +199,21 @@ public class Console {
     }
 
     protected void mainClockCreate() {
-        mainClock = new Clock("Console(TIA)", tia, 0);
+        mainClock = new Clock("Console(TIA)", tia, 0, CLOCK_PACING);
     }
 
     protected void mainClockAdjustToNormal() {
         double fps = tia.desiredClockForVideoStandard();
         mainClock.speed(fps);
         tia.audioOutput().fps(fps);
+        tia.audioOutput().pacedClock(AUDIO_CLOCK_PACING ? mainClock : null);
     }
 
     protected void mainClockAdjustToAlternate() {
         double fps = tia.desiredClockForVideoStandard() * ALTERNATE_CLOCK_FACTOR;
         mainClock.speed(fps);
         tia.audioOutput().fps(fps);
+        tia.audioOutput().pacedClock(null);
     }
 
     protected void mainClockDestroy() {
@@ -52,7 +52,7 @@ public final class ServerConsole extends Console implements ClockDriven {
     @Override
     protected void mainClockCreate() {
         // The server clock is always running
-        mainClock = new Clock("Server Console", this, VideoStandard.NTSC.fps);
+        mainClock = new Clock("Server Console", this, VideoStandard.NTSC.fps, CLOCK_PACING);
         mainClock.go();
     }
 
@@ -8,14 +8,13 @@ import org.javatari.atari.controls.ConsoleControls;
 import org.javatari.atari.controls.ConsoleControls.Control;
 import org.javatari.atari.controls.ConsoleControlsInput;
 import org.javatari.general.board.BUS16Bits;
-import org.javatari.general.board.ClockDriven;
 import org.javatari.utils.Randomizer;
 
 import java.io.Serializable;
 import java.util.Map;
 
 
-public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
+public final class PIA implements BUS16Bits, ConsoleControlsInput {
 
     public static final int CHIP_MASK = 0x1280;
     public static final int CHIP_SELECT = 0x0280;
@@ -25,6 +24,7 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private int timerCount = 1024;                // Start with the largest timer interval
     private int currentTimerInterval = 1024;
     private int lastSetTimerInterval = 1024;
+    private long timerCycles = 0;                // CPU cycle the timer state refers to. Updated only when needed
     private int SWCHA =                            // 11111111  Port A; input or output  (read or write)
             0xff;                        // All directions of both controllers OFF
     private int SWACNT;                            // 11111111  Port A DDR, 0=input, 1=output
@@ -46,6 +46,7 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
 
     public void connectBus(BUS bus) {
         this.bus = bus;
+        timerCycles = bus.cpu.cycles;
     }
 
     public void powerOn() {
@@ -59,10 +60,27 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
 
     // Registers ----------------------------------------------------
 
-    @Override
-    public void clockPulse() {
-        if (--timerCount <= 0)
-            decrementTimer();
+    // Brings the timer up to the current CPU cycle, as if it had received one clock pulse per cycle
+    private void timerCatchUp() {
+        final long cycles = bus.cpu.cycles;
+        if (cycles == timerCycles) return;
+        final long pulses = cycles - timerCycles;
+        timerCycles = cycles;
+        if (pulses < timerCount) {
+            timerCount -= pulses;
+            return;
+        }
+        final long underflow = timerCount + (long) INTIM * currentTimerInterval;        // Pulses until the timer underflows
+        if (pulses < underflow) {
+            final long afterDecrement = pulses - timerCount;                            // Pulses since the first decrement
+            INTIM -= 1 + afterDecrement / currentTimerInterval;
+            timerCount = currentTimerInterval - (int) (afterDecrement % currentTimerInterval);
+            return;
+        }
+        // Underflow, then decrements at every pulse wrapping from 0xff as per decrementTimer()
+        INSTAT |= 0xc0;
+        INTIM = (int) (0xff - (pulses - underflow) % 256);
+        timerCount = currentTimerInterval = 1;
     }
 
     private void setTimerInterval(int value, int interval) {
@@ -89,6 +107,34 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
             timerCount = currentTimerInterval = lastSetTimerInterval;
     }
 
+    // Cycles that a loop polling INTIM or INSTAT every period cycles can be skipped, the first read being readDelay cycles from now.
+    // Stops at the first read that would exit the loop or happen after the timer underflows
+    public int timerPollingCycles(int address, int readDelay, int period, int mask, boolean exitWhenZero) {
+        final int reg = address & ADDRESS_MASK;
+        final boolean intim = reg == 0x04 || reg == 0x06;
+        if (!intim && reg != 0x05 && reg != 0x07) return 0;
+        timerCatchUp();
+        // Reads must not have any effect other than the ones the previous read already had
+        if (currentTimerInterval != lastSetTimerInterval || (intim && (INSTAT & 0x40) != 0)) return 0;
+        final int underflow = timerCount + INTIM * currentTimerInterval;        // Pulses until the timer underflows
+        int pulses = readDelay;
+        while (pulses < underflow) {
+            final int value = intim ? timerValueAfter(pulses) : INSTAT;
+            if (((value & mask) == 0) == exitWhenZero) break;
+            // Go to the first read after the value changes
+            final int change = !intim ? underflow : pulses < timerCount ? timerCount
+                    : timerCount + ((pulses - timerCount) / currentTimerInterval + 1) * currentTimerInterval;
+            pulses += (change - pulses + period - 1) / period * period;
+        }
+        return pulses - readDelay;
+    }
+
+    // Value of INTIM after the given number of pulses, as long as the timer does not underflow
+    private int timerValueAfter(int pulses) {
+        if (pulses < timerCount) return INTIM;
+        return INTIM - 1 - (pulses - timerCount) / currentTimerInterval;
+    }
+
     private void swchbWrite(int val) {
         // Only bits 2, 4 and 5 can be written
         SWCHB = (SWCHB & 0xcb) | (val & 0x34);
@@ -102,6 +148,7 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     @Override
     public byte readByte(int address) {
         final int reg = address & ADDRESS_MASK;
+        timerCatchUp();
 
         if (reg == 0x04 || reg == 0x06) {
             readFromINTIM();
@@ -121,6 +168,7 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     public void writeByte(int address, byte b) {
         int i = b & 0xff;
         int reg = address & ADDRESS_MASK;
+        timerCatchUp();
 
         if (reg == 0x04) {
             TIM1T = i;
@@ -244,6 +292,7 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     }
 
     public PIAState saveState() {
+        timerCatchUp();
         PIAState state = new PIAState();
         state.debug = debug;
         state.timerCount = timerCount;
@@ -277,6 +326,7 @@ public final class PIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         TIM8T = state.TIM8T;
         TIM64T = state.TIM64T;
         T1024T = state.T1024T;
+        timerCycles = bus.cpu.cycles;
     }
 
     // Used to save/load states
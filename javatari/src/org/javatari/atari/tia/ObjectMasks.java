@@ -0,0 +1,105 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.atari.tia;
+
+// Pixels drawn by the Players, Missiles and Ball at each counter position of a line, when their scans run regularly
+// Built once for every size, copies, reflection and graphic. Positions are the counter values after each clock
+final class ObjectMasks {
+
+    // 160 positions plus the first 64 again, so any 64 consecutive positions can be read across the end of the line
+    private static final int LONGS = 4;
+
+    // Expected scan counter at each position, or -1 if not scanning. Per Player mode, Missile mode and Ball size
+    static final int[][] PLAYER_SCANS = new int[8][];
+    static final int[][] MISSILE_SCANS = new int[4 * 8][];
+    static final int[][] BALL_SCANS = new int[4][];
+
+    // Per Player mode, reflection and graphic, per Missile mode and per Ball size
+    private static final long[] PLAYER = new long[8 * 2 * 256 * LONGS];
+    private static final long[] MISSILE = new long[4 * 8 * LONGS];
+    private static final long[] BALL = new long[4 * LONGS];
+
+    static {
+        for (int nusiz = 0; nusiz < 8; nusiz++) {
+            final int speed = nusiz == 5 ? 2 : nusiz == 7 ? 1 : 4;
+            final boolean copies = speed == 4;
+            final int mode = playerMode(speed, copies && (nusiz & 1) != 0, copies && (nusiz & 2) != 0, copies && (nusiz & 4) != 0);
+            PLAYER_SCANS[mode] = scans(speed, 31 + speed * (speed == 4 ? 5 : 6), 31 + speed * 5, copies ? nusiz : 0);
+            for (int reflected = 0; reflected < 2; reflected++)
+                for (int sprite = 0; sprite < 256; sprite++)
+                    fill(PLAYER, ((mode * 2 + reflected) * 256 + sprite) * LONGS, PLAYER_SCANS[mode], 31, sprite, reflected == 1);
+        }
+        for (int size = 0; size < 4; size++) {
+            final int speed = 8 >> size;
+            for (int copies = 0; copies < 8; copies++) {
+                final int mode = size * 8 + copies;
+                MISSILE_SCANS[mode] = scans(speed, 7 + speed * 4, 7 + speed * 4, copies);
+                fill(MISSILE, mode * LONGS, MISSILE_SCANS[mode], 7, 0xff, false);
+            }
+            BALL_SCANS[size] = scans(speed, 7 + speed * 4, 0, 0);
+            fill(BALL, size * LONGS, BALL_SCANS[size], 7, 0xff, false);
+        }
+    }
+
+    // Mode index of a Player by its speed and copies. Speeds 2 and 1 never have copies
+    static int playerMode(int speed, boolean closeCopy, boolean mediumCopy, boolean wideCopy) {
+        return speed == 4 ? copies(closeCopy, mediumCopy, wideCopy) : speed == 2 ? 5 : 7;
+    }
+
+    // Mode index of a Missile by its speed and the copies of its Player
+    static int missileMode(int speed, boolean closeCopy, boolean mediumCopy, boolean wideCopy) {
+        return ballSize(speed) * 8 + copies(closeCopy, mediumCopy, wideCopy);
+    }
+
+    static int ballSize(int speed) {
+        return 3 - Integer.numberOfTrailingZeros(speed);
+    }
+
+    // Pixels at the 64 positions starting at position, one per bit from the lowest
+    static long player(int mode, boolean reflected, int sprite, int position) {
+        return bits(PLAYER, ((mode * 2 + (reflected ? 1 : 0)) * 256 + sprite) * LONGS, position);
+    }
+
+    static long missile(int mode, int position) {
+        return bits(MISSILE, mode * LONGS, position);
+    }
+
+    static long ball(int size, int position) {
+        return bits(BALL, size * LONGS, position);
+    }
+
+    private static long bits(long[] masks, int base, int position) {
+        final int i = base + (position >>> 6);
+        final int shift = position & 63;
+        return shift == 0 ? masks[i] : (masks[i] >>> shift) | (masks[i + 1] << (64 - shift));
+    }
+
+    private static int copies(boolean closeCopy, boolean mediumCopy, boolean wideCopy) {
+        return (closeCopy ? 1 : 0) | (mediumCopy ? 2 : 0) | (wideCopy ? 4 : 0);
+    }
+
+    // Runs the counter for two entire lines, as in the objects clock counters with no resets, and keeps the second
+    private static int[] scans(int speed, int start, int copyStart, int copies) {
+        final int[] scans = new int[160];
+        int counter = 0, scan = -1;
+        for (int i = 0; i < 320; i++) {
+            if (++counter == 160) counter = 0;
+            if (scan >= 0) scan -= speed;
+            if (counter == 156) scan = start;
+            else if ((counter == 12 && (copies & 1) != 0) || (counter == 28 && (copies & 2) != 0) || (counter == 60 && (copies & 4) != 0))
+                scan = copyStart;
+            if (i >= 160) scans[counter] = scan < 0 ? -1 : scan;
+        }
+        return scans;
+    }
+
+    private static void fill(long[] masks, int base, int[] scans, int top, int sprite, boolean reflected) {
+        for (int position = 0; position < 160 + 64; position++) {
+            final int scan = scans[position % 160];
+            if (scan < 0 || scan > top) continue;
+            if (((sprite >> (reflected ? 7 - (scan >>> 2) : scan >>> 2)) & 0x01) == 0) continue;
+            masks[base + (position >>> 6)] |= 1L << (position & 63);
+        }
+    }
+
+}
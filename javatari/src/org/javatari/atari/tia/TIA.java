@@ -7,6 +7,7 @@ import org.javatari.atari.board.BUS;
 import org.javatari.atari.controls.ConsoleControls;
 import org.javatari.atari.controls.ConsoleControlsInput;
 import org.javatari.atari.tia.audio.AudioGenerator;
+import org.javatari.atari.tia.audio.AudioBlepGenerator;
 import org.javatari.atari.tia.audio.AudioMonoGenerator;
 import org.javatari.atari.tia.video.NTSCPalette;
 import org.javatari.atari.tia.video.PALPalette;
@@ -19,6 +20,7 @@ import org.javatari.utils.ArraysCopy;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 
@@ -28,47 +30,103 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     public static final int CHIP_SELECT = 0x0000;
     private static final int READ_ADDRESS_MASK = 0x000f;
     private static final int WRITE_ADDRESS_MASK = 0x003f;
-    private static final int VBLANK_COLOR = 0x00000000;        // Full transparency needed for CRT emulation modes
-    private static final int HBLANK_COLOR = 0xff000000;
-    private static final int VSYNC_COLOR = 0xffdddddd;
+    private static final boolean INDEXED_PIXELS = Parameters.TIA_INDEXED_PIXELS;
+    private static final int AUDIO_OUTPUT_RATE = Parameters.TIA_AUDIO_OUTPUT_RATE;
+    // Colors not in the palette. With INDEXED_PIXELS they follow the 128 palette colors in the color table
+    private static final int[] FIXED_COLORS = new int[23];
+    private static final int VBLANK_COLOR = fixedColor(0, 0x00000000);        // Full transparency needed for CRT emulation modes
+    private static final int HBLANK_COLOR = fixedColor(1, 0xff000000);
+    private static final int VSYNC_COLOR = fixedColor(2, 0xffdddddd);
+    private static final int BLACK_COLOR = fixedColor(3, 0xff000000);
     private static final int HBLANK_DURATION = 68;
     private static final int LINE_WIDTH = 228;
-    private static final int DEBUG_MARKS_COLOR = 0xff202020;
-    private static final int DEBUG_HBLANK_COLOR = 0xff444444;
-    private static final int DEBUG_VBLANK_COLOR = 0xff2a2a2a;
-    private static final int DEBUG_WSYNC_COLOR = 0xff880088;
-    private static final int DEBUG_HMOVE_COLOR = 0xffffffff;
-    private static final int DEBUG_P0_COLOR = 0xff0000ff;
-    private static final int DEBUG_P0_RES_COLOR = 0xff2222bb;
-    private static final int DEBUG_P0_GR_COLOR = 0xff111177;
-    private static final int DEBUG_P1_COLOR = 0xffff0000;
-    private static final int DEBUG_P1_RES_COLOR = 0xffbb2222;
-    private static final int DEBUG_P1_GR_COLOR = 0xff771111;
-    private static final int DEBUG_M0_COLOR = 0xff6666ff;
-    private static final int DEBUG_M1_COLOR = 0xffff6666;
-    private static final int DEBUG_PF_COLOR = 0xff448844;
-    private static final int DEBUG_PF_GR_COLOR = 0xff33dd33;
-    private static final int DEBUG_BK_COLOR = 0xff334433;
-    private static final int DEBUG_BL_COLOR = 0xffffff00;
+    private static final int DEBUG_MARKS_COLOR = fixedColor(4, 0xff202020);
+    private static final int DEBUG_HBLANK_COLOR = fixedColor(5, 0xff444444);
+    private static final int DEBUG_VBLANK_COLOR = fixedColor(6, 0xff2a2a2a);
+    private static final int DEBUG_WSYNC_COLOR = fixedColor(7, 0xff880088);
+    private static final int DEBUG_HMOVE_COLOR = fixedColor(8, 0xffffffff);
+    private static final int DEBUG_P0_COLOR = fixedColor(9, 0xff0000ff);
+    private static final int DEBUG_P0_RES_COLOR = fixedColor(10, 0xff2222bb);
+    private static final int DEBUG_P0_GR_COLOR = fixedColor(11, 0xff111177);
+    private static final int DEBUG_P1_COLOR = fixedColor(12, 0xffff0000);
+    private static final int DEBUG_P1_RES_COLOR = fixedColor(13, 0xffbb2222);
+    private static final int DEBUG_P1_GR_COLOR = fixedColor(14, 0xff771111);
+    private static final int DEBUG_M0_COLOR = fixedColor(15, 0xff6666ff);
+    private static final int DEBUG_M1_COLOR = fixedColor(16, 0xffff6666);
+    private static final int DEBUG_PF_COLOR = fixedColor(17, 0xff448844);
+    private static final int DEBUG_PF_GR_COLOR = fixedColor(18, 0xff33dd33);
+    private static final int DEBUG_BK_COLOR = fixedColor(19, 0xff334433);
+    private static final int DEBUG_BL_COLOR = fixedColor(20, 0xffffff00);
     @SuppressWarnings("unused")
-    private static final int DEBUG_SP_COLOR = 0xff00ffff;
+    private static final int DEBUG_SP_COLOR = fixedColor(21, 0xff00ffff);
     @SuppressWarnings("unused")
-    private static final int DEBUG_SP_COLOR2 = 0xffff00ff;
+    private static final int DEBUG_SP_COLOR2 = fixedColor(22, 0xffff00ff);
+    // Palette of indexes in the color table, per color register value
+    private static final int[] INDEXED_PALETTE = new int[256];
     private static final int PLAYERS_DELAYED_SPRITE_GHANGES_MAX_COUNT = 50;  // Supports a maximum of player GR changes before any is drawn
+    // Objects present at a pixel, one bit each, plus the PlayField modes. Index the collision and pixel object tables
+    private static final int PIXEL_P0 = 0x01, PIXEL_M0 = 0x02, PIXEL_P1 = 0x04, PIXEL_M1 = 0x08, PIXEL_BL = 0x10, PIXEL_PF = 0x20;
+    private static final int PIXEL_SCORE = 0x40, PIXEL_PRIORITY = 0x80;
+    // Collision bits per objects present, one byte per latch from CXM0P to CXPPMM
+    private static final long[] COLLISIONS = new long[64];
+    // Object shown per objects present and PlayField modes, 0 for the background. PIXEL_SCORE for the PlayField in Score Mode
+    private static final int[] PIXEL_OBJECT = new int[256];
+    // PlayField pixels of each PF register value, for both halves of the line. Normal and Reflected
+    private static final long[][] PLAYFIELD_PF0 = new long[2][256];
+    private static final long[][] PLAYFIELD_PF1 = new long[2][256];
+    private static final long[][] PLAYFIELD_PF2 = new long[2][256];
     private static final double FORCED_CLOCK = Parameters.TIA_FORCED_CLOCK;    //  TIA Real Clock = NTSC clock = 3584160 or 3579545 Hz
+    private static final boolean INSTRUCTION_STEP = Parameters.CPU_INSTRUCTION_STEP;
+    private static final boolean EVENT_RENDERING = Parameters.TIA_EVENT_RENDERING && INSTRUCTION_STEP;
+
+    static {
+        for (int i = 0; i < 256; i++) INDEXED_PALETTE[i] = i >> 1;
+        for (int objects = 0; objects < 64; objects++) {
+            final boolean p0 = (objects & PIXEL_P0) != 0, m0 = (objects & PIXEL_M0) != 0, p1 = (objects & PIXEL_P1) != 0;
+            final boolean m1 = (objects & PIXEL_M1) != 0, bl = (objects & PIXEL_BL) != 0, pf = (objects & PIXEL_PF) != 0;
+            COLLISIONS[objects] = (m0 && p1 ? 0x80L : 0) | (m0 && p0 ? 0x40L : 0)
+                    | (m1 && p0 ? 0x80L : 0) << 8 | (m1 && p1 ? 0x40L : 0) << 8
+                    | (p0 && pf ? 0x80L : 0) << 16 | (p0 && bl ? 0x40L : 0) << 16
+                    | (p1 && pf ? 0x80L : 0) << 24 | (p1 && bl ? 0x40L : 0) << 24
+                    | (m0 && pf ? 0x80L : 0) << 32 | (m0 && bl ? 0x40L : 0) << 32
+                    | (m1 && pf ? 0x80L : 0) << 40 | (m1 && bl ? 0x40L : 0) << 40
+                    | (bl && pf ? 0x80L : 0) << 48
+                    | (p0 && p1 ? 0x80L : 0) << 56 | (m0 && m1 ? 0x40L : 0) << 56;
+            // Priority order: P0, M0, P1, M1, BL, PF. With PlayField Priority: BL, PF, P0, M0, P1, M1. No Score Mode then
+            final int normal = p0 ? PIXEL_P0 : m0 ? PIXEL_M0 : p1 ? PIXEL_P1 : m1 ? PIXEL_M1 : bl ? PIXEL_BL : pf ? PIXEL_PF : 0;
+            final int priority = bl ? PIXEL_BL : pf ? PIXEL_PF : p0 ? PIXEL_P0 : m0 ? PIXEL_M0 : p1 ? PIXEL_P1 : m1 ? PIXEL_M1 : 0;
+            PIXEL_OBJECT[objects] = normal;
+            PIXEL_OBJECT[objects | PIXEL_SCORE] = normal == PIXEL_PF ? PIXEL_SCORE : normal;
+            PIXEL_OBJECT[objects | PIXEL_PRIORITY] = PIXEL_OBJECT[objects | PIXEL_PRIORITY | PIXEL_SCORE] = priority;
+        }
+        // Left half pixels: PF0 bits 4-7, PF1 bits 7-0, PF2 bits 0-7. The right half repeats or mirrors them
+        for (int value = 0; value < 256; value++)
+            for (int bit = 0; bit < 8; bit++) {
+                if ((value & (1 << bit)) == 0) continue;
+                if (bit >= 4) playfieldSetPixel(PLAYFIELD_PF0, value, bit - 4);
+                playfieldSetPixel(PLAYFIELD_PF1, value, 11 - bit);
+                playfieldSetPixel(PLAYFIELD_PF2, value, 12 + bit);
+            }
+    }
+
     private final VideoGenerator videoOutput;
-    private final AudioMonoGenerator audioOutput;
+    private final AudioGenerator audioOutput;
     private final int[] debugPixels = new int[LINE_WIDTH];
     private int clock = 0;
+    private long lineStartCycle = 0;            // CPU cycles before the first clock/3 pulse of the current line
     private BUS bus;
     private boolean powerOn = false;
     private int[] palette;
+    private int[] colors;                        // Color table of the indexes in linePixels with INDEXED_PIXELS
+    private final Map<Integer, Integer> colorIndexes = new HashMap<>();    // First index of each color in the table, for loading states
     private int vBlankColor = VBLANK_COLOR;
     private int hBlankColor = VBLANK_COLOR;
     private boolean debugPause = false;
     private int debugPauseMoreFrames = 0;
     private int[] framePattern = {1};
     private int framePatternPosition = 0;
+    private boolean framePatternSkipRendering = false;
+    private boolean rendering = true;                        // If false pixels are not set, only collisions
     private boolean debug = false;
     private int debugLevel = 0;
     private boolean debugNoCollisions = false;
@@ -76,6 +134,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private int lastObservableChangeClock = -1;
     private boolean observableChangeExtended = false;
     private boolean repeatLastLine;
+    private boolean linePixelsRepeated = false;              // If no pixel was set since the last line sent
     private boolean vSyncOn = false;
     private boolean vBlankOn = false;
     private boolean vBlankDecodeActive = false;
@@ -87,11 +146,11 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private int hMoveHitClock = -1;
     private boolean hMoveLateHit = false;
     private boolean hMoveLateHitBlank = false;
-    private boolean[] playfieldPattern = new boolean[40];
+    private long playfieldPattern = 0;                        // One bit per PlayField pixel, from the left
     private boolean playfieldPatternInvalid = true;
     private boolean playfieldCurrentPixel = false;
-    private int playfieldColor = 0xff000000;
-    private int playfieldBackground = 0xff000000;
+    private int playfieldColor = BLACK_COLOR;
+    private int playfieldBackground = BLACK_COLOR;
     private boolean playfieldReflected = false;
     private boolean playfieldScoreMode = false;
     private boolean playfieldPriority = false;
@@ -103,7 +162,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     // State Variables ----------------------------------------------
     private int player0ActiveSprite = 0;
     private int player0DelayedSprite = 0;
-    private int player0Color = 0xff000000;
+    private int player0Color = BLACK_COLOR;
     private boolean player0RecentReset = false;
     private int player0Counter = 0;                            // Position!
     private int player0ScanCounter = -1;                    // 31 down to 0. Current scan position. Negative = scan not happening
@@ -115,7 +174,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private boolean player0Reflected = false;
     private int player1ActiveSprite = 0;
     private int player1DelayedSprite = 0;
-    private int player1Color = 0xff000000;
+    private int player1Color = BLACK_COLOR;
     private boolean player1RecentReset = false;
     private int player1Counter = 0;
     private int player1ScanCounter = -1;
@@ -126,14 +185,14 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private boolean player1WideCopy = false;
     private boolean player1Reflected = false;
     private boolean missile0Enabled = false;
-    private int missile0Color = 0xff000000;
+    private int missile0Color = BLACK_COLOR;
     private boolean missile0RecentReset = false;
     private int missile0Counter = 0;
     private int missile0ScanCounter = -1;
     private int missile0ScanSpeed = 8;                        // 8 per clock = 1 pixel wide
     private boolean missile0ResetToPlayer = false;
     private boolean missile1Enabled = false;
-    private int missile1Color = 0xff000000;
+    private int missile1Color = BLACK_COLOR;
     private boolean missile1RecentReset = false;
     private int missile1Counter = 0;
     private int missile1ScanCounter = -1;
@@ -141,7 +200,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private boolean missile1ResetToPlayer = false;
     private boolean ballEnabled = false;
     private boolean ballDelayedEnablement = false;
-    private int ballColor = 0xff000000;
+    private int ballColor = BLACK_COLOR;
     private int ballCounter = 0;
     private int ballScanCounter = -1;
     private int ballScanSpeed = 8;                            // 8 per clock = 1 pixel wide
@@ -212,7 +271,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
 
     public TIA() {
         videoOutput = new VideoGenerator();
-        audioOutput = new AudioMonoGenerator();
+        audioOutput = AUDIO_OUTPUT_RATE > 0 ? new AudioBlepGenerator() : new AudioMonoGenerator();
     }
 
     public void connectBus(BUS bus) {
@@ -229,7 +288,25 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
 
     public void videoStandard(VideoStandard standard) {
         videoOutput.standard(standard);
-        palette = standard.equals(VideoStandard.NTSC) ? NTSCPalette.getPalette() : PALPalette.getPalette();
+        final int[] standardPalette = standard.equals(VideoStandard.NTSC) ? NTSCPalette.getPalette() : PALPalette.getPalette();
+        if (INDEXED_PIXELS) {
+            palette = INDEXED_PALETTE;
+            colors = new int[128 + FIXED_COLORS.length];
+            for (int i = 0; i < 128; i++) colors[i] = standardPalette[i * 2];
+            System.arraycopy(FIXED_COLORS, 0, colors, 128, FIXED_COLORS.length);
+            colorIndexes.clear();
+            for (int i = colors.length - 1; i >= 0; i--) colorIndexes.put(colors[i], i);
+            videoOutput.colors(colors);
+        } else
+            palette = standardPalette;
+    }
+
+    // Frames generated per clock pulse, cycling through the pattern. If skipRendering, only the last frame of
+    // each clock pulse is rendered. The others are generated with no pixels set, but with exact collisions
+    public void framePattern(int[] pattern, boolean skipRendering) {
+        framePattern = pattern;
+        framePatternPosition = 0;
+        framePatternSkipRendering = skipRendering;
     }
 
     public double desiredClockForVideoStandard() {
@@ -271,37 +348,10 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
 
         if (frames <= 0) return;
 
+        frameRendering(!framePatternSkipRendering || frames == 1);
         while (frames > 0 && powerOn) {
-            clock = 0;
-            // Send the first clock/3 pulse to the CPU and PIA, perceived by TIA at clock 0
-            bus.clockPulse();
-            // Releases the CPU at the beginning of the line in case a WSYNC has halted it
-            if (!bus.cpu.RDY) bus.cpu.RDY = true;
-            // HBLANK period
-            for (clock = 3; clock < HBLANK_DURATION; clock += 3) {        // 3 .. 66
-                if (!repeatLastLine) checkRepeatMode();
-                // Send clock/3 pulse to the CPU and PIA each 3rd TIA cycle
-                bus.clockPulse();
-            }
-            // 67
-            // First Audio Sample. 2 samples per scan line ~ 31440 KHz
-            audioOutput.clockPulse();
-            // Display period
-            int subClock3 = 2;    // To control the clock/3 cycles. First at clock 69
-            for (clock = 68; clock < LINE_WIDTH; clock++) {            // 68 .. 227
-                if (!repeatLastLine) checkRepeatMode();
-                // Clock delay decodes
-                if (vBlankDecodeActive) vBlankClockDecode();
-                // Send clock/3 pulse to the CPU and PIA each 3rd TIA cycle
-                if (--subClock3 == 0) {
-                    bus.clockPulse();
-                    subClock3 = 3;
-                }
-                objectsClockCounters();
-                if (!repeatLastLine && (clock >= 76 || !hMoveHitBlank))
-                    setPixelValue();
-                // else linePixels[clock] |= 0x88800080;	// Add a pink dye to show pixels repeated
-            }
+            if (INSTRUCTION_STEP) lineByInstructions();
+            else lineByCycles();
             // End of scan line
             // Second Audio Sample. 2 samples per scan line ~ 31440 KHz
             audioOutput.clockPulse();
@@ -310,7 +360,10 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
                 paddlesChargeCapacitors();    // Only if paddles are connected (position >= 0)
             finishLine();
             // Send the finished line to the output and check if monitor vSynched
-            if (videoOutput.nextLine(linePixels, vSyncOn)) frames--;
+            final boolean vSynched = rendering ? videoOutput.nextLine(linePixels, linePixelsRepeated, vSyncOn) : videoOutput.skipLine(vSyncOn);
+            // Lines entirely in repeat mode keep the same pixels
+            linePixelsRepeated = repeatLastLine;
+            if (vSynched && --frames == 1) frameRendering(true);
         }
 
         if (powerOn) {
@@ -319,6 +372,225 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         }
     }
 
+    private void frameRendering(boolean state) {
+        // Lines of skipped frames have no pixels to repeat, so compute all pixels again
+        if (state && !rendering) observableChangeExtended();
+        rendering = state;
+    }
+
+    private void lineByCycles() {
+        clock = 0;
+        // Send the first clock/3 pulse to the CPU and PIA, perceived by TIA at clock 0
+        bus.clockPulse();
+        // Releases the CPU at the beginning of the line in case a WSYNC has halted it
+        if (!bus.cpu.RDY) bus.cpu.RDY = true;
+        // HBLANK period
+        for (clock = 3; clock < HBLANK_DURATION; clock += 3) {        // 3 .. 66
+            if (!repeatLastLine) checkRepeatMode();
+            // Send clock/3 pulse to the CPU and PIA each 3rd TIA cycle
+            bus.clockPulse();
+        }
+        // 67
+        // First Audio Sample. 2 samples per scan line ~ 31440 KHz
+        audioOutput.clockPulse();
+        // Display period
+        int subClock3 = 2;    // To control the clock/3 cycles. First at clock 69
+        for (clock = 68; clock < LINE_WIDTH; clock++) {            // 68 .. 227
+            if (!repeatLastLine) checkRepeatMode();
+            // Clock delay decodes
+            if (vBlankDecodeActive) vBlankClockDecode();
+            // Send clock/3 pulse to the CPU and PIA each 3rd TIA cycle
+            if (--subClock3 == 0) {
+                bus.clockPulse();
+                subClock3 = 3;
+            }
+            objectsClockCounters();
+            if (!repeatLastLine && (clock >= 76 || !hMoveHitBlank))
+                setPixelValue();
+            // else linePixels[clock] |= 0x88800080;	// Add a pink dye to show pixels repeated
+        }
+    }
+
+    // Same results as lineByCycles(), but the CPU runs whole instructions for the entire line,
+    // and the TIA only catches up to the CPU cycle when accessed or at the end of the line
+    private void lineByInstructions() {
+        clock = 0;
+        lineStartCycle = bus.cpu.cycles;
+        // First clock/3 pulse, perceived by TIA at clock 0
+        bus.clockPulses(1);
+        // Releases the CPU at the beginning of the line in case a WSYNC has halted it
+        if (!bus.cpu.RDY) bus.cpu.RDY = true;
+        // Remaining 75 pulses of the line
+        bus.clockPulses(LINE_WIDTH / 3 - 1);
+        catchUpToClock(LINE_WIDTH);
+        bus.catchUp();
+    }
+
+    // Brings the TIA to the clock of the current CPU cycle, right at the point where it would receive the clock/3 pulse
+    public void catchUp() {
+        catchUpToClock((int) (bus.cpu.cycles - 1 - lineStartCycle) * 3);
+    }
+
+    private void catchUpToClock(int target) {
+        if (clock >= target) return;
+        // Finish the current clock, already processed up to the clock/3 pulse
+        if (clock >= HBLANK_DURATION) {
+            objectsClockCounters();
+            if (!repeatLastLine && (clock >= 76 || !hMoveHitBlank)) setPixelValue();
+        }
+        // Process entire clocks up to the target
+        if (EVENT_RENDERING) renderClocks(target);
+        else for (clock++; clock < target; clock++) {
+            if (clock < HBLANK_DURATION) {
+                if (clock == HBLANK_DURATION - 1) audioOutput.clockPulse();        // 67. First Audio Sample
+                else if (clock % 3 == 0 && !repeatLastLine) checkRepeatMode();
+            } else {
+                if (!repeatLastLine) checkRepeatMode();
+                if (vBlankDecodeActive) vBlankClockDecode();
+                objectsClockCounters();
+                if (!repeatLastLine && (clock >= 76 || !hMoveHitBlank)) setPixelValue();
+            }
+        }
+        // Process the target clock up to the clock/3 pulse
+        if (clock >= LINE_WIDTH) return;
+        if (!repeatLastLine) checkRepeatMode();
+        if (clock >= HBLANK_DURATION && vBlankDecodeActive) vBlankClockDecode();
+    }
+
+    // Same results as processing each entire clock after the current up to the target, but renders each run of clocks
+    // where nothing observable can change at once. Runs end at observable changes and where objects with irregular
+    // scans may become visible. Objects with regular scans are drawn from their precomputed masks
+    private void renderClocks(int target) {
+        clock++;
+        while (clock < target) {
+            // HBLANK period. Only the repeat mode check and the first Audio Sample
+            if (clock < HBLANK_DURATION) {
+                final int end = Math.min(target, HBLANK_DURATION);
+                if (!repeatLastLine && lastObservableChangeClock >= clock && lastObservableChangeClock < end && lastObservableChangeClock % 3 == 0) {
+                    repeatLastLine = true;
+                    lastObservableChangeClock = -1;
+                }
+                if (end == HBLANK_DURATION) audioOutput.clockPulse();        // 67. First Audio Sample
+                clock = end;
+                continue;
+            }
+            // Display period
+            int end = target;
+            if (!repeatLastLine && lastObservableChangeClock >= clock && lastObservableChangeClock < end)
+                end = lastObservableChangeClock;
+            if (end == clock || vBlankDecodeActive) {
+                renderClock();
+                continue;
+            }
+            // No pixels to set, only the objects move
+            if (repeatLastLine || (clock < 76 && hMoveHitBlank)) {
+                if (!repeatLastLine && end > 76) end = 76;
+                objectsClockCounters(end - clock);
+                clock = end;
+                continue;
+            }
+            // Fixed colors in vSync/vBlank
+            if (vSyncOn || vBlankOn) {
+                Arrays.fill(linePixels, clock, end, vSyncOn ? VSYNC_COLOR : vBlankColor);
+                objectsClockCounters(end - clock);
+                clock = end;
+                continue;
+            }
+            // PlayField, background and regular objects, up to 64 clocks at once
+            if (playfieldDelayedChangePart != -1) end = clock;
+            else end = clock + Math.min(Math.min(end - clock, 64), clocksBeforeIrregularObjectsVisible());
+            if (end == clock) {
+                renderClock();
+                continue;
+            }
+            objectsRender(end);
+        }
+    }
+
+    // Processes one entire clock
+    private void renderClock() {
+        if (!repeatLastLine) checkRepeatMode();
+        if (vBlankDecodeActive) vBlankClockDecode();
+        objectsClockCounters();
+        if (!repeatLastLine && (clock >= 76 || !hMoveHitBlank)) setPixelValue();
+        clock++;
+    }
+
+    // Sets the pixels up to end as in setPixelValue(), with the objects pixels taken from their masks. Up to 64 clocks
+    private void objectsRender(int end) {
+        final int start = clock;
+        final long run = end - start == 64 ? -1 : (1L << (end - start)) - 1;
+        // Masks must be read at the counters before the run
+        final long p0 = player0Mask() & run, p1 = player1Mask() & run;
+        final long m0 = missile0Mask() & run, m1 = missile1Mask() & run;
+        final long bl = ballMask() & run;
+        objectsClockCounters(end - start);
+        final long pf = playfieldRender(end);
+        if (p0 == 0 && p1 == 0 && m0 == 0 && m1 == 0 && bl == 0) return;
+        if (rendering) objectsPaint(start, p0, p1, m0, m1, bl, pf);
+        if (!debugNoCollisions) objectsCollisions(p0, p1, m0, m1, bl, pf);
+    }
+
+    // Paints from the lowest priority object up
+    private void objectsPaint(int start, long p0, long p1, long m0, long m1, long bl, long pf) {
+        if (playfieldPriority) {
+            paintPixels(start, m1, missile1Color);
+            paintPixels(start, p1, player1Color);
+            paintPixels(start, m0, missile0Color);
+            paintPixels(start, p0, player0Color);
+            paintPixels(start, pf & (p0 | p1 | m0 | m1), playfieldColor);
+            paintPixels(start, bl, ballColor);
+        } else {
+            paintPixels(start, bl, ballColor);
+            paintPixels(start, m1, missile1Color);
+            paintPixels(start, p1, player1Color);
+            paintPixels(start, m0, missile0Color);
+            paintPixels(start, p0, player0Color);
+        }
+    }
+
+    private void objectsCollisions(long p0, long p1, long m0, long m1, long bl, long pf) {
+        if ((p0 & pf) != 0) CXP0FB |= 0x80;
+        if ((p0 & bl) != 0) CXP0FB |= 0x40;
+        if ((p1 & pf) != 0) CXP1FB |= 0x80;
+        if ((p1 & bl) != 0) CXP1FB |= 0x40;
+        if ((m0 & p1) != 0) CXM0P |= 0x80;
+        if ((m0 & p0) != 0) CXM0P |= 0x40;
+        if ((m1 & p0) != 0) CXM1P |= 0x80;
+        if ((m1 & p1) != 0) CXM1P |= 0x40;
+        if ((m0 & pf) != 0) CXM0FB |= 0x80;
+        if ((m0 & bl) != 0) CXM0FB |= 0x40;
+        if ((m1 & pf) != 0) CXM1FB |= 0x80;
+        if ((m1 & bl) != 0) CXM1FB |= 0x40;
+        if ((bl & pf) != 0) CXBLPF |= 0x80;
+        if ((p0 & p1) != 0) CXPPMM |= 0x80;
+        if ((m0 & m1) != 0) CXPPMM |= 0x40;
+    }
+
+    // Sets the pixels up to end showing only the PlayField and background. Returns the PlayField pixels, one per bit
+    private long playfieldRender(int end) {
+        final int start = clock;
+        long pixels = 0;
+        while (clock < end) {
+            if ((clock & 0x03) == 0) playfieldUpdateCurrentPixel();
+            final int next = Math.min(end, (clock | 0x03) + 1);
+            if (playfieldCurrentPixel) pixels |= ((1L << (next - clock)) - 1) << (clock - start);
+            if (!rendering) {
+                clock = next;
+                continue;
+            }
+            final int color = !playfieldCurrentPixel ? playfieldBackground
+                    : playfieldPriority || !playfieldScoreMode ? playfieldColor : (clock < 148 ? player0Color : player1Color);
+            for (; clock < next; clock++) linePixels[clock] = color;
+        }
+        return pixels;
+    }
+
+    private void paintPixels(int start, long pixels, int color) {
+        for (; pixels != 0; pixels &= pixels - 1)
+            linePixels[start + Long.numberOfTrailingZeros(pixels)] = color;
+    }
+
     private void checkRepeatMode() {
         // If one entire line since last observable change has just completed, enter repeatLastLine mode
         if (clock == lastObservableChangeClock) {
@@ -340,99 +612,54 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         // Updates the current PlayFiled pixel to draw only each 4 pixels, or at the first calculated pixel after stopped using cached line
         if ((clock & 0x03) == 0 || clock == lastObservableChangeClock)        // clock & 0x03 is the same as clock % 4
             playfieldUpdateCurrentPixel();
-        // Pixel color
-        int color = 1;        // All valid colors are between 0xffffffff and 0x00000000, therefore <= 0
-        // Flags for Collision latches
-        boolean P0 = false, P1 = false, M0 = false, M1 = false, FL = false, BL = false;
-        // Get the value for the PlayField and Ball first only if PlayField and Ball have higher priority
-        if (playfieldPriority) {
-            // Get the value for the Ball
-            if (ballScanCounter >= 0 && ballScanCounter <= 7) {
-                playersPerformDelayedSpriteChanges();        // May trigger Ball delayed enablement
-                if (ballEnabled) {
-                    BL = true;
-                    color = ballColor;
-                }
-            }
-            if (playfieldCurrentPixel) {
-                FL = true;
-                if (color > 0) color = playfieldColor;    // No Score Mode in priority mode
-            }
+        // Objects present at this pixel
+        int objects = 0;
+        if (ballScanCounter >= 0 && ballScanCounter <= 7) {
+            playersPerformDelayedSpriteChanges();        // May trigger Ball delayed enablement
+            if (ballEnabled) objects |= PIXEL_BL;
         }
-        // Get the value for Player0
         if (player0ScanCounter >= 0 && player0ScanCounter <= 31) {
             playersPerformDelayedSpriteChanges();
             int sprite = player0VerticalDelay ? player0ActiveSprite : player0DelayedSprite;
             if (sprite != 0)
-                if (((sprite >> (player0Reflected ? (7 - (player0ScanCounter >>> 2)) : (player0ScanCounter >>> 2))) & 0x01) != 0) {
-                    P0 = true;
-                    if (color > 0) color = player0Color;
-                }
-        }
-        if (missile0ScanCounter >= 0 && missile0Enabled && missile0ScanCounter <= 7 && !missile0ResetToPlayer) {
-            M0 = true;
-            if (color > 0) color = missile0Color;
+                if (((sprite >> (player0Reflected ? (7 - (player0ScanCounter >>> 2)) : (player0ScanCounter >>> 2))) & 0x01) != 0)
+                    objects |= PIXEL_P0;
         }
-        // Get the value for Player1
+        if (missile0ScanCounter >= 0 && missile0Enabled && missile0ScanCounter <= 7 && !missile0ResetToPlayer)
+            objects |= PIXEL_M0;
         if (player1ScanCounter >= 0 && player1ScanCounter <= 31) {
             playersPerformDelayedSpriteChanges();
             int sprite = player1VerticalDelay ? player1ActiveSprite : player1DelayedSprite;
             if (sprite != 0)
-                if (((sprite >> (player1Reflected ? (7 - (player1ScanCounter >>> 2)) : (player1ScanCounter >>> 2))) & 0x01) != 0) {
-                    P1 = true;
-                    if (color > 0) color = player1Color;
-                }
-        }
-        if (missile1ScanCounter >= 0 && missile1Enabled && missile1ScanCounter <= 7 && !missile1ResetToPlayer) {
-            M1 = true;
-            if (color > 0) color = missile1Color;
-        }
-        if (!playfieldPriority) {
-            // Get the value for the Ball (low priority)
-            if (ballScanCounter >= 0 && ballScanCounter <= 7) {
-                playersPerformDelayedSpriteChanges();        // May trigger Ball delayed enablement
-                if (ballEnabled) {
-                    BL = true;
-                    if (color > 0) color = ballColor;
-                }
-            }
-            // Get the value for the the PlayField (low priority)
-            if (playfieldCurrentPixel) {
-                FL = true;
-                if (color > 0)
-                    color = !playfieldScoreMode ? playfieldColor : (clock < 148 ? player0Color : player1Color);
-            }
-        }
-        // If nothing more is showing, get the PlayField background value (low priority)
-        if (color > 0) color = playfieldBackground;
-        // Set the correct pixel color
-        linePixels[clock] = color;
-        // Finish collision latches
+                if (((sprite >> (player1Reflected ? (7 - (player1ScanCounter >>> 2)) : (player1ScanCounter >>> 2))) & 0x01) != 0)
+                    objects |= PIXEL_P1;
+        }
+        if (missile1ScanCounter >= 0 && missile1Enabled && missile1ScanCounter <= 7 && !missile1ResetToPlayer)
+            objects |= PIXEL_M1;
+        if (playfieldCurrentPixel) objects |= PIXEL_PF;
+        // Set the color of the object with the highest priority, or the PlayField background
+        if (rendering) switch (PIXEL_OBJECT[objects | (playfieldPriority ? PIXEL_PRIORITY : 0) | (playfieldScoreMode ? PIXEL_SCORE : 0)]) {
+            case PIXEL_P0: linePixels[clock] = player0Color; break;
+            case PIXEL_M0: linePixels[clock] = missile0Color; break;
+            case PIXEL_P1: linePixels[clock] = player1Color; break;
+            case PIXEL_M1: linePixels[clock] = missile1Color; break;
+            case PIXEL_BL: linePixels[clock] = ballColor; break;
+            case PIXEL_PF: linePixels[clock] = playfieldColor; break;
+            case PIXEL_SCORE: linePixels[clock] = clock < 148 ? player0Color : player1Color; break;
+            default: linePixels[clock] = playfieldBackground;
+        }
+        // Collision latches
         if (debugNoCollisions) return;
-        if (P0 && FL)
-            CXP0FB |= 0x80;
-        if (P1) {
-            if (FL) CXP1FB |= 0x80;
-            if (P0) CXPPMM |= 0x80;
-        }
-        if (BL) {
-            if (FL) CXBLPF |= 0x80;
-            if (P0) CXP0FB |= 0x40;
-            if (P1) CXP1FB |= 0x40;
-        }
-        if (M0) {
-            if (P1) CXM0P |= 0x80;
-            if (P0) CXM0P |= 0x40;
-            if (FL) CXM0FB |= 0x80;
-            if (BL) CXM0FB |= 0x40;
-        }
-        if (M1) {
-            if (P0) CXM1P |= 0x80;
-            if (P1) CXM1P |= 0x40;
-            if (FL) CXM1FB |= 0x80;
-            if (BL) CXM1FB |= 0x40;
-            if (M0) CXPPMM |= 0x40;
-        }
+        final long collisions = COLLISIONS[objects];
+        if (collisions == 0) return;
+        CXM0P |= (int) collisions & 0xff;
+        CXM1P |= (int) (collisions >>> 8) & 0xff;
+        CXP0FB |= (int) (collisions >>> 16) & 0xff;
+        CXP1FB |= (int) (collisions >>> 24) & 0xff;
+        CXM0FB |= (int) (collisions >>> 32) & 0xff;
+        CXM1FB |= (int) (collisions >>> 40) & 0xff;
+        CXBLPF |= (int) (collisions >>> 48) & 0xff;
+        CXPPMM |= (int) (collisions >>> 56) & 0xff;
     }
 
     private void objectsClockCounters() {
@@ -443,6 +670,171 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         ballClockCounter();
     }
 
+    // Same as objectsClockCounters() for a number of clocks, advancing counters directly between the scan starts
+    private void objectsClockCounters(int clocks) {
+        // Players would reset the missiles counters while scanning
+        if (missile0ResetToPlayer || missile1ResetToPlayer) {
+            for (int i = clocks; i > 0; i--) objectsClockCounters();
+            return;
+        }
+        for (int i = clocks, free; i > 0; i -= free) {
+            free = Math.min(i, clocksBeforeScanStart(player0Counter, player0CloseCopy, player0MediumCopy, player0WideCopy));
+            if (free == 0) {
+                player0ClockCounter();
+                free = 1;
+            } else {
+                player0Counter = (player0Counter + free) % 160;
+                player0ScanCounter = scanCounterAfter(player0ScanCounter, player0ScanSpeed, free);
+            }
+        }
+        for (int i = clocks, free; i > 0; i -= free) {
+            free = Math.min(i, clocksBeforeScanStart(player1Counter, player1CloseCopy, player1MediumCopy, player1WideCopy));
+            if (free == 0) {
+                player1ClockCounter();
+                free = 1;
+            } else {
+                player1Counter = (player1Counter + free) % 160;
+                player1ScanCounter = scanCounterAfter(player1ScanCounter, player1ScanSpeed, free);
+            }
+        }
+        for (int i = clocks, free; i > 0; i -= free) {
+            free = Math.min(i, clocksBeforeScanStart(missile0Counter, player0CloseCopy, player0MediumCopy, player0WideCopy));
+            if (free == 0) {
+                missile0ClockCounter();
+                free = 1;
+            } else {
+                missile0Counter = (missile0Counter + free) % 160;
+                missile0ScanCounter = scanCounterAfter(missile0ScanCounter, missile0ScanSpeed, free);
+            }
+        }
+        for (int i = clocks, free; i > 0; i -= free) {
+            free = Math.min(i, clocksBeforeScanStart(missile1Counter, player1CloseCopy, player1MediumCopy, player1WideCopy));
+            if (free == 0) {
+                missile1ClockCounter();
+                free = 1;
+            } else {
+                missile1Counter = (missile1Counter + free) % 160;
+                missile1ScanCounter = scanCounterAfter(missile1ScanCounter, missile1ScanSpeed, free);
+            }
+        }
+        for (int i = clocks, free; i > 0; i -= free) {
+            free = Math.min(i, clocksBeforeScanStart(ballCounter, false, false, false));
+            if (free == 0) {
+                ballClockCounter();
+                free = 1;
+            } else {
+                ballCounter = (ballCounter + free) % 160;
+                ballScanCounter = scanCounterAfter(ballScanCounter, ballScanSpeed, free);
+            }
+        }
+    }
+
+    // Clocks that can be processed before any object that would affect pixels or collisions may be in its scan range
+    // while its scan is not regular, as after a reset during a scan, an HMOVE or a size change, or has delayed changes
+    private int clocksBeforeIrregularObjectsVisible() {
+        int res = Integer.MAX_VALUE;
+        if ((playersDelayedSpriteChangesCount > 0 || (player0VerticalDelay ? player0ActiveSprite : player0DelayedSprite) != 0) && !player0Regular())
+            res = Math.min(res, clocksBeforeScanVisible(player0Counter, player0ScanCounter, player0ScanSpeed, 31, player0CloseCopy, player0MediumCopy, player0WideCopy));
+        if ((playersDelayedSpriteChangesCount > 0 || (player1VerticalDelay ? player1ActiveSprite : player1DelayedSprite) != 0) && !player1Regular())
+            res = Math.min(res, clocksBeforeScanVisible(player1Counter, player1ScanCounter, player1ScanSpeed, 31, player1CloseCopy, player1MediumCopy, player1WideCopy));
+        if (missile0Enabled && !missile0ResetToPlayer && !missile0Regular())
+            res = Math.min(res, clocksBeforeScanVisible(missile0Counter, missile0ScanCounter, missile0ScanSpeed, 7, player0CloseCopy, player0MediumCopy, player0WideCopy));
+        if (missile1Enabled && !missile1ResetToPlayer && !missile1Regular())
+            res = Math.min(res, clocksBeforeScanVisible(missile1Counter, missile1ScanCounter, missile1ScanSpeed, 7, player1CloseCopy, player1MediumCopy, player1WideCopy));
+        if ((playersDelayedSpriteChangesCount > 0 || ballEnabled) && !ballRegular())
+            res = Math.min(res, clocksBeforeScanVisible(ballCounter, ballScanCounter, ballScanSpeed, 7, false, false, false));
+        return res;
+    }
+
+    // A scan is regular if it is the one expected at its counter value with no recent reset, so the masks apply
+    private boolean player0Regular() {
+        return playersDelayedSpriteChangesCount == 0 && !player0RecentReset && regularScan(player0ScanCounter,
+                ObjectMasks.PLAYER_SCANS[ObjectMasks.playerMode(player0ScanSpeed, player0CloseCopy, player0MediumCopy, player0WideCopy)][player0Counter]);
+    }
+
+    private boolean player1Regular() {
+        return playersDelayedSpriteChangesCount == 0 && !player1RecentReset && regularScan(player1ScanCounter,
+                ObjectMasks.PLAYER_SCANS[ObjectMasks.playerMode(player1ScanSpeed, player1CloseCopy, player1MediumCopy, player1WideCopy)][player1Counter]);
+    }
+
+    private boolean missile0Regular() {
+        return !missile0RecentReset && regularScan(missile0ScanCounter,
+                ObjectMasks.MISSILE_SCANS[ObjectMasks.missileMode(missile0ScanSpeed, player0CloseCopy, player0MediumCopy, player0WideCopy)][missile0Counter]);
+    }
+
+    private boolean missile1Regular() {
+        return !missile1RecentReset && regularScan(missile1ScanCounter,
+                ObjectMasks.MISSILE_SCANS[ObjectMasks.missileMode(missile1ScanSpeed, player1CloseCopy, player1MediumCopy, player1WideCopy)][missile1Counter]);
+    }
+
+    private boolean ballRegular() {
+        return playersDelayedSpriteChangesCount == 0 && regularScan(ballScanCounter, ObjectMasks.BALL_SCANS[ObjectMasks.ballSize(ballScanSpeed)][ballCounter]);
+    }
+
+    private static boolean regularScan(int scanCounter, int expected) {
+        return scanCounter < 0 ? expected < 0 : scanCounter == expected;
+    }
+
+    // Pixels of each object for the next 64 clocks, or none if the object is not visible or its scan is not regular
+    private long player0Mask() {
+        final int sprite = player0VerticalDelay ? player0ActiveSprite : player0DelayedSprite;
+        if (sprite == 0 || !player0Regular()) return 0;
+        return ObjectMasks.player(ObjectMasks.playerMode(player0ScanSpeed, player0CloseCopy, player0MediumCopy, player0WideCopy),
+                player0Reflected, sprite, player0Counter == 159 ? 0 : player0Counter + 1);
+    }
+
+    private long player1Mask() {
+        final int sprite = player1VerticalDelay ? player1ActiveSprite : player1DelayedSprite;
+        if (sprite == 0 || !player1Regular()) return 0;
+        return ObjectMasks.player(ObjectMasks.playerMode(player1ScanSpeed, player1CloseCopy, player1MediumCopy, player1WideCopy),
+                player1Reflected, sprite, player1Counter == 159 ? 0 : player1Counter + 1);
+    }
+
+    private long missile0Mask() {
+        if (!missile0Enabled || missile0ResetToPlayer || !missile0Regular()) return 0;
+        return ObjectMasks.missile(ObjectMasks.missileMode(missile0ScanSpeed, player0CloseCopy, player0MediumCopy, player0WideCopy),
+                missile0Counter == 159 ? 0 : missile0Counter + 1);
+    }
+
+    private long missile1Mask() {
+        if (!missile1Enabled || missile1ResetToPlayer || !missile1Regular()) return 0;
+        return ObjectMasks.missile(ObjectMasks.missileMode(missile1ScanSpeed, player1CloseCopy, player1MediumCopy, player1WideCopy),
+                missile1Counter == 159 ? 0 : missile1Counter + 1);
+    }
+
+    private long ballMask() {
+        if (!ballEnabled || !ballRegular()) return 0;
+        return ObjectMasks.ball(ObjectMasks.ballSize(ballScanSpeed), ballCounter == 159 ? 0 : ballCounter + 1);
+    }
+
+    // Clocks before the counter reaches a value that may start a scan
+    private static int clocksBeforeScanStart(int counter, boolean closeCopy, boolean mediumCopy, boolean wideCopy) {
+        int res = clocksToCounter(counter, 156);
+        if (closeCopy) res = Math.min(res, clocksToCounter(counter, 12));
+        if (mediumCopy) res = Math.min(res, clocksToCounter(counter, 28));
+        if (wideCopy) res = Math.min(res, clocksToCounter(counter, 60));
+        return res - 1;
+    }
+
+    // Clocks before the scan counter may be between 0 and top. Scans start at least 4 clocks before being visible
+    private static int clocksBeforeScanVisible(int counter, int scanCounter, int speed, int top,
+                                               boolean closeCopy, boolean mediumCopy, boolean wideCopy) {
+        if (scanCounter > top) return (scanCounter - top - 1) / speed;
+        if (scanCounter >= 0) return 0;
+        return clocksBeforeScanStart(counter, closeCopy, mediumCopy, wideCopy) + 4;
+    }
+
+    private static int clocksToCounter(int counter, int value) {
+        final int dif = value - counter;
+        return dif > 0 ? dif : dif + 160;
+    }
+
+    // Scan counter after a number of clocks with no scan start. Scans stop as soon as the counter is negative
+    private static int scanCounterAfter(int scanCounter, int speed, int clocks) {
+        if (scanCounter < 0) return scanCounter;
+        return scanCounter - Math.min(clocks, scanCounter / speed + 1) * speed;
+    }
+
 
     // Write registers -------------------------------------------
 
@@ -558,42 +950,20 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         playfieldPerformDelayedSpriteChange(false);
         if (playfieldPatternInvalid) {
             playfieldPatternInvalid = false;
-            // Shortcut if the Playfield is all clear
-            if (PF0 == 0 && PF1 == 0 && PF2 == 0) {
-                Arrays.fill(playfieldPattern, false);
-                playfieldCurrentPixel = false;
-                return;
-            }
-            int s, i;
-            if (playfieldReflected) {
-                s = 40;
-                i = -1;
-            } else {
-                s = 19;
-                i = 1;
-            }
-            playfieldPattern[0] = playfieldPattern[s += i] = (PF0 & 0x10) != 0;
-            playfieldPattern[1] = playfieldPattern[s += i] = (PF0 & 0x20) != 0;
-            playfieldPattern[2] = playfieldPattern[s += i] = (PF0 & 0x40) != 0;
-            playfieldPattern[3] = playfieldPattern[s += i] = (PF0 & 0x80) != 0;
-            playfieldPattern[4] = playfieldPattern[s += i] = (PF1 & 0x80) != 0;
-            playfieldPattern[5] = playfieldPattern[s += i] = (PF1 & 0x40) != 0;
-            playfieldPattern[6] = playfieldPattern[s += i] = (PF1 & 0x20) != 0;
-            playfieldPattern[7] = playfieldPattern[s += i] = (PF1 & 0x10) != 0;
-            playfieldPattern[8] = playfieldPattern[s += i] = (PF1 & 0x08) != 0;
-            playfieldPattern[9] = playfieldPattern[s += i] = (PF1 & 0x04) != 0;
-            playfieldPattern[10] = playfieldPattern[s += i] = (PF1 & 0x02) != 0;
-            playfieldPattern[11] = playfieldPattern[s += i] = (PF1 & 0x01) != 0;
-            playfieldPattern[12] = playfieldPattern[s += i] = (PF2 & 0x01) != 0;
-            playfieldPattern[13] = playfieldPattern[s += i] = (PF2 & 0x02) != 0;
-            playfieldPattern[14] = playfieldPattern[s += i] = (PF2 & 0x04) != 0;
-            playfieldPattern[15] = playfieldPattern[s += i] = (PF2 & 0x08) != 0;
-            playfieldPattern[16] = playfieldPattern[s += i] = (PF2 & 0x10) != 0;
-            playfieldPattern[17] = playfieldPattern[s += i] = (PF2 & 0x20) != 0;
-            playfieldPattern[18] = playfieldPattern[s += i] = (PF2 & 0x40) != 0;
-            playfieldPattern[19] = playfieldPattern[s += i] = (PF2 & 0x80) != 0;
-        }
-        playfieldCurrentPixel = playfieldPattern[((clock - HBLANK_DURATION) >>> 2)];
+            final int r = playfieldReflected ? 1 : 0;
+            playfieldPattern = PLAYFIELD_PF0[r][PF0] | PLAYFIELD_PF1[r][PF1] | PLAYFIELD_PF2[r][PF2];
+        }
+        playfieldCurrentPixel = ((playfieldPattern >>> ((clock - HBLANK_DURATION) >>> 2)) & 0x01) != 0;
+    }
+
+    private static int fixedColor(int index, int color) {
+        FIXED_COLORS[index] = color;
+        return INDEXED_PIXELS ? 128 + index : color;
+    }
+
+    private static void playfieldSetPixel(long[][] table, int value, int pixel) {
+        table[0][value] |= 1L << pixel | 1L << (pixel + 20);
+        table[1][value] |= 1L << pixel | 1L << (39 - pixel);
     }
 
     private void playerDelaySpriteChange(int player, int sprite) {
@@ -989,6 +1359,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     private void finishLine() {
         // Fills the extended HBLANK portion of the current line if needed
         if (hMoveHitBlank) {
+            linePixelsRepeated = false;
             linePixels[HBLANK_DURATION] =
                     linePixels[HBLANK_DURATION + 1] =
                             linePixels[HBLANK_DURATION + 2] =
@@ -1011,12 +1382,16 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
             observableChangeExtended = false;
         }
         // Inject debugging information in the line if needed
-        if (debugLevel >= 2) processDebugPixelsInLine();
+        if (debugLevel >= 2) {
+            linePixelsRepeated = false;
+            processDebugPixelsInLine();
+        }
     }
 
     private void observableChange() {
         lastObservableChangeClock = clock;
         if (repeatLastLine) repeatLastLine = false;
+        linePixelsRepeated = false;
     }
 
     private void observableChangeExtended() {
@@ -1398,6 +1773,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     public TIAState saveState() {
         TIAState state = new TIAState();
         state.linePixels = linePixels.clone();
+        for (int i = 0; i < LINE_WIDTH; i++) state.linePixels[i] = stateColor(linePixels[i]);
         state.lastObservableChangeClock = lastObservableChangeClock;
         state.observableChangeExtended = observableChangeExtended;
         state.repeatLastLine = repeatLastLine;
@@ -1405,17 +1781,18 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         state.vBlankOn = vBlankOn;
         state.vBlankDecodeActive = vBlankDecodeActive;
         state.vBlankNewState = vBlankNewState;
-        state.playfieldPattern = playfieldPattern.clone();
+        state.playfieldPattern = new boolean[40];
+        for (int i = 0; i < 40; i++) state.playfieldPattern[i] = ((playfieldPattern >>> i) & 0x01) != 0;
         state.playfieldPatternInvalid = playfieldPatternInvalid;
         state.playfieldCurrentPixel = playfieldCurrentPixel;
-        state.playfieldColor = playfieldColor;
-        state.playfieldBackground = playfieldBackground;
+        state.playfieldColor = stateColor(playfieldColor);
+        state.playfieldBackground = stateColor(playfieldBackground);
         state.playfieldReflected = playfieldReflected;
         state.playfieldScoreMode = playfieldScoreMode;
         state.playfieldPriority = playfieldPriority;
         state.player0ActiveSprite = player0ActiveSprite;
         state.player0DelayedSprite = player0DelayedSprite;
-        state.player0Color = player0Color;
+        state.player0Color = stateColor(player0Color);
         state.player0RecentReset = player0RecentReset;
         state.player0Counter = player0Counter;
         state.player0ScanCounter = player0ScanCounter;
@@ -1427,7 +1804,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         state.player0Reflected = player0Reflected;
         state.player1ActiveSprite = player1ActiveSprite;
         state.player1DelayedSprite = player1DelayedSprite;
-        state.player1Color = player1Color;
+        state.player1Color = stateColor(player1Color);
         state.player1RecentReset = player1RecentReset;
         state.player1Counter = player1Counter;
         state.player1ScanCounter = player1ScanCounter;
@@ -1438,14 +1815,14 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         state.player1WideCopy = player1WideCopy;
         state.player1Reflected = player1Reflected;
         state.missile0Enabled = missile0Enabled;
-        state.missile0Color = missile0Color;
+        state.missile0Color = stateColor(missile0Color);
         state.missile0RecentReset = missile0RecentReset;
         state.missile0Counter = missile0Counter;
         state.missile0ScanCounter = missile0ScanCounter;
         state.missile0ScanSpeed = missile0ScanSpeed;
         state.missile0ResetToPlayer = missile0ResetToPlayer;
         state.missile1Enabled = missile1Enabled;
-        state.missile1Color = missile1Color;
+        state.missile1Color = stateColor(missile1Color);
         state.missile1RecentReset = missile1RecentReset;
         state.missile1Counter = missile1Counter;
         state.missile1ScanCounter = missile1ScanCounter;
@@ -1453,7 +1830,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         state.missile1ResetToPlayer = missile1ResetToPlayer;
         state.ballEnabled = ballEnabled;
         state.ballDelayedEnablement = ballDelayedEnablement;
-        state.ballColor = ballColor;
+        state.ballColor = stateColor(ballColor);
         state.ballCounter = ballCounter;
         state.ballScanCounter = ballScanCounter;
         state.ballScanSpeed = ballScanSpeed;
@@ -1491,25 +1868,28 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
     }
 
     public void loadState(TIAState state) {
-        linePixels = state.linePixels;
+        linePixels = state.linePixels.clone();
+        for (int i = 0; i < LINE_WIDTH; i++) linePixels[i] = colorFromState(linePixels[i]);
         lastObservableChangeClock = state.lastObservableChangeClock;
         observableChangeExtended = state.observableChangeExtended;
         repeatLastLine = state.repeatLastLine;
+        linePixelsRepeated = false;
         vSyncOn = state.vSyncOn;
         vBlankOn = state.vBlankOn;
         vBlankDecodeActive = state.vBlankDecodeActive;
         vBlankNewState = state.vBlankNewState;
-        playfieldPattern = state.playfieldPattern;
+        playfieldPattern = 0;
+        for (int i = 0; i < 40; i++) if (state.playfieldPattern[i]) playfieldPattern |= 1L << i;
         playfieldPatternInvalid = state.playfieldPatternInvalid;
         playfieldCurrentPixel = state.playfieldCurrentPixel;
-        playfieldColor = state.playfieldColor;
-        playfieldBackground = state.playfieldBackground;
+        playfieldColor = colorFromState(state.playfieldColor);
+        playfieldBackground = colorFromState(state.playfieldBackground);
         playfieldReflected = state.playfieldReflected;
         playfieldScoreMode = state.playfieldScoreMode;
         playfieldPriority = state.playfieldPriority;
         player0ActiveSprite = state.player0ActiveSprite;
         player0DelayedSprite = state.player0DelayedSprite;
-        player0Color = state.player0Color;
+        player0Color = colorFromState(state.player0Color);
         player0RecentReset = state.player0RecentReset;
         player0Counter = state.player0Counter;
         player0ScanCounter = state.player0ScanCounter;
@@ -1521,7 +1901,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         player0Reflected = state.player0Reflected;
         player1ActiveSprite = state.player1ActiveSprite;
         player1DelayedSprite = state.player1DelayedSprite;
-        player1Color = state.player1Color;
+        player1Color = colorFromState(state.player1Color);
         player1RecentReset = state.player1RecentReset;
         player1Counter = state.player1Counter;
         player1ScanCounter = state.player1ScanCounter;
@@ -1532,14 +1912,14 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         player1WideCopy = state.player1WideCopy;
         player1Reflected = state.player1Reflected;
         missile0Enabled = state.missile0Enabled;
-        missile0Color = state.missile0Color;
+        missile0Color = colorFromState(state.missile0Color);
         missile0RecentReset = state.missile0RecentReset;
         missile0Counter = state.missile0Counter;
         missile0ScanCounter = state.missile0ScanCounter;
         missile0ScanSpeed = state.missile0ScanSpeed;
         missile0ResetToPlayer = state.missile0ResetToPlayer;
         missile1Enabled = state.missile1Enabled;
-        missile1Color = state.missile1Color;
+        missile1Color = colorFromState(state.missile1Color);
         missile1RecentReset = state.missile1RecentReset;
         missile1Counter = state.missile1Counter;
         missile1ScanCounter = state.missile1ScanCounter;
@@ -1547,7 +1927,7 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         missile1ResetToPlayer = state.missile1ResetToPlayer;
         ballEnabled = state.ballEnabled;
         ballDelayedEnablement = state.ballDelayedEnablement;
-        ballColor = state.ballColor;
+        ballColor = colorFromState(state.ballColor);
         ballCounter = state.ballCounter;
         ballScanCounter = state.ballScanCounter;
         ballScanSpeed = state.ballScanSpeed;
@@ -1590,6 +1970,17 @@ public final class TIA implements BUS16Bits, ClockDriven, ConsoleControlsInput {
         if (debug) debugSetColors();                        // IF debug is on, ensure debug colors are used
     }
 
+    // States keep ARGB colors, also with INDEXED_PIXELS
+    private int stateColor(int color) {
+        return INDEXED_PIXELS ? colors[color] : color;
+    }
+
+    private int colorFromState(int color) {
+        if (!INDEXED_PIXELS) return color;
+        final Integer index = colorIndexes.get(color);
+        return index != null ? index : BLACK_COLOR;
+    }
+
     // Used to save/load states
     public static class TIAState implements Serializable {
         public static final long serialVersionUID = 3L;
@@ -0,0 +1,111 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.atari.tia.audio;
+
+import org.javatari.parameters.Parameters;
+
+import java.util.Arrays;
+
+// Band limited synthesis of the channels mix, resampled from the TIA audio clock to 16 bit samples at the output rate
+// Each change in the mix level is added as a band limited step at its exact fractional output time, using the
+// windowed sinc kernel precomputed for that sub sample phase (a polyphase filter). Output samples integrate the steps
+public final class AudioBlepGenerator extends AudioGenerator {
+
+    private static final int TICK_RATE = Parameters.TIA_AUDIO_SAMPLE_RATE;
+    private static final int OUTPUT_RATE = Parameters.TIA_AUDIO_OUTPUT_RATE;
+    private static final float MAX_AMPLITUDE = Parameters.TIA_AUDIO_MAX_AMPLITUDE;
+    private static final int TAPS = 24;
+    private static final int PHASE_BITS = 8;
+    private static final int PHASES = 1 << PHASE_BITS;
+    private static final int FRACTION_BITS = 16;                // Output times are fixed point
+    private static final double CUTOFF = 0.42;                  // In cycles per output sample, a little below Nyquist
+    private static final float LEAK = 0.9995f;                  // The integration slowly forgets the DC level
+    private static final int STEPS_MASK = 63;                   // Pending steps are kept for up to 64 output samples
+    private static final float[][] KERNELS = new float[PHASES][TAPS];
+
+    static {
+        // Step at phase p lands between samples TAPS / 2 - 1 and TAPS / 2 of its kernel
+        for (int p = 0; p < PHASES; p++) {
+            double sum = 0;
+            double[] k = new double[TAPS];
+            for (int i = 0; i < TAPS; i++) {
+                double x = i - (TAPS / 2 - 1) - (double) p / PHASES;
+                double u = Math.PI * 2 * CUTOFF * x;
+                double sinc = x == 0 ? 1 : Math.sin(u) / u;
+                double window = 0.42 + 0.5 * Math.cos(2 * Math.PI * x / TAPS) + 0.08 * Math.cos(4 * Math.PI * x / TAPS);
+                k[i] = sinc * window;
+                sum += k[i];
+            }
+            for (int i = 0; i < TAPS; i++) KERNELS[p][i] = (float) (k[i] / sum);
+        }
+    }
+
+    private final long tickDuration = Math.round((double) OUTPUT_RATE / TICK_RATE * (1 << FRACTION_BITS));
+    private final float[] steps = new float[STEPS_MASK + 1];
+    private long time = 0;               // Of the next tick, in output samples
+    private long emitted = 0;            // Output samples already integrated
+    private float level = 0;
+    private float integrated = 0;
+
+    public AudioBlepGenerator() {
+        bytesPerTick = 2.0 * OUTPUT_RATE / TICK_RATE;
+    }
+
+    @Override
+    public int sampleRate() {
+        return OUTPUT_RATE;
+    }
+
+    @Override
+    public int sampleBits() {
+        return 16;
+    }
+
+    @Override
+    protected void generateNextSamples(int quant) {
+        for (int i = quant; i > 0; i--) {
+            final float mixed = channel0.nextSample() - channel1.nextSample();
+            if (mixed != level) {
+                addStep(mixed - level);
+                level = mixed;
+            }
+            time += tickDuration;
+            emitSamples(time >> FRACTION_BITS);
+            frameSamples++;
+        }
+    }
+
+    private void addStep(float delta) {
+        final float[] kernel = KERNELS[(int) (time >> (FRACTION_BITS - PHASE_BITS)) & (PHASES - 1)];
+        final int start = (int) (time >> FRACTION_BITS);
+        for (int i = 0; i < TAPS; i++)
+            steps[(start + i) & STEPS_MASK] += delta * kernel[i];
+    }
+
+    // Samples before the current time get no more steps, so they are complete
+    private void emitSamples(long until) {
+        for (; emitted < until; emitted++) {
+            final int s = (int) emitted & STEPS_MASK;
+            integrated = integrated * LEAK + steps[s];
+            steps[s] = 0;
+            int sample = (int) (integrated * MAX_AMPLITUDE * 32767);
+            if (sample > 32767) sample = 32767;
+            else if (sample < -32768) sample = -32768;
+            if (ring != null) ring.put16(sample);
+            else {
+                if (generatedSamples > samples.length - 2) sendGeneratedSamples();
+                samples[generatedSamples] = (byte) sample;
+                samples[generatedSamples + 1] = (byte) (sample >> 8);
+            }
+            generatedSamples += 2;
+        }
+    }
+
+    @Override
+    public void signalOff() {
+        Arrays.fill(steps, 0);
+        level = integrated = 0;
+        super.signalOff();
+    }
+
+}
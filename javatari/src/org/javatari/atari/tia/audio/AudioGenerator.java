@@ -3,7 +3,9 @@
 package org.javatari.atari.tia.audio;
 
 import org.javatari.general.av.audio.AudioMonitor;
+import org.javatari.general.av.audio.AudioRingBuffer;
 import org.javatari.general.av.audio.AudioSignal;
+import org.javatari.general.board.Clock;
 import org.javatari.general.board.ClockDriven;
 import org.javatari.parameters.Parameters;
 
@@ -16,19 +18,37 @@ public abstract class AudioGenerator implements AudioSignal, ClockDriven {
     private static final int MONITOR_BUFFER_CHUNKS_ADD_FACTOR = Parameters.TIA_AUDIO_MONITOR_BUFFER_CHUNKS_ADD_FACTOR;
     private static final int MAX_SAMPLES = 4 * 1024;
     private static final boolean SYNC_WITH_AUDIO_MONITOR = Parameters.TIA_SYNC_WITH_AUDIO_MONITOR;
+    private static final double PACING_GAIN = Parameters.CONSOLE_AUDIO_CLOCK_PACING_GAIN;
+    private static final double PACING_INTEGRAL_GAIN = Parameters.CONSOLE_AUDIO_CLOCK_PACING_INTEGRAL_GAIN;
+    private static final double PACING_MAX_INTEGRAL = Parameters.CONSOLE_AUDIO_CLOCK_PACING_MAX_INTEGRAL;
+    private static final double PACING_MAX_TRIM = Parameters.CONSOLE_AUDIO_CLOCK_PACING_MAX_TRIM;
     final ChannelStream channel0 = new ChannelStream();
     final ChannelStream channel1 = new ChannelStream();
     final byte[] samples = new byte[MAX_SAMPLES];
     int generatedSamples = 0;
     int frameSamples = 0;
+    AudioRingBuffer ring;
+    double bytesPerTick = 1;                // Bytes of samples sent for each pulse of the audio clock
     private int samplesPerFrame = 0;
     private AudioMonitor monitor;
+    private Clock pacedClock;
+    private double pacingIntegral = 0;
 
     @Override
     public void connectMonitor(AudioMonitor monitor) {
         this.monitor = monitor;
     }
 
+    @Override
+    public int sampleRate() {
+        return SAMPLE_RATE;
+    }
+
+    @Override
+    public int sampleBits() {
+        return 8;
+    }
+
     @Override
     public void clockPulse() {
         if (frameSamples < samplesPerFrame) generateNextSamples(1);
@@ -54,6 +74,12 @@ public abstract class AudioGenerator implements AudioSignal, ClockDriven {
         if (samplesPerFrame > MAX_SAMPLES) samplesPerFrame = MAX_SAMPLES;
     }
 
+    // Clock trimmed each frame so generation follows the monitor consumption, instead of sending extra samples. null = off
+    public void pacedClock(Clock clock) {
+        pacedClock = clock;
+        pacingIntegral = 0;
+    }
+
     public void signalOff() {
         generatedSamples = 0;
         frameSamples = 0;
@@ -66,9 +92,11 @@ public abstract class AudioGenerator implements AudioSignal, ClockDriven {
 
         int available = sendGeneratedSamples();
 
+        float level = pacedClock != null && monitor != null ? monitor.bufferLevel() : -1;
+        if (level >= 0) pace(level);
         // Check available samples on monitor to prevent starvation. Send additional samples if needed
-        if (available >= 0 && available < MIN_MONITOR_BUFFER_CHUNKS * SEND_CHUNK) {
-            int add = MIN_MONITOR_BUFFER_CHUNKS * SEND_CHUNK - available + SEND_CHUNK / MONITOR_BUFFER_CHUNKS_ADD_FACTOR;
+        else if (available >= 0 && available < MIN_MONITOR_BUFFER_CHUNKS * SEND_CHUNK * bytesPerTick) {
+            int add = MIN_MONITOR_BUFFER_CHUNKS * SEND_CHUNK - (int) (available / bytesPerTick) + SEND_CHUNK / MONITOR_BUFFER_CHUNKS_ADD_FACTOR;
             if (add > MAX_SAMPLES) add = MAX_SAMPLES;
             generateNextSamples(add);
             sendGeneratedSamples();
@@ -77,13 +105,27 @@ public abstract class AudioGenerator implements AudioSignal, ClockDriven {
 
         frameSamples = 0;
 
+        // Samples go straight into the monitor ring buffer when available. Monitors may only have one after powered on
+        ring = monitor != null ? monitor.ringBuffer() : null;
+
         // Synch with audio monitor as needed
         if (SYNC_WITH_AUDIO_MONITOR && monitor != null) monitor.synchOutput();
     }
 
-    private int sendGeneratedSamples() {
+    // Speeds the clock up while the monitor is running out of samples, and slows it down while they pile up
+    private void pace(float level) {
+        double error = 1 - level;
+        pacingIntegral = Math.max(Math.min(pacingIntegral + error * PACING_INTEGRAL_GAIN, PACING_MAX_INTEGRAL), -PACING_MAX_INTEGRAL);
+        double trim = 1 + error * PACING_GAIN + pacingIntegral;
+        pacedClock.trim(Math.max(Math.min(trim, 1 + PACING_MAX_TRIM), 1 - PACING_MAX_TRIM));
+    }
+
+    int sendGeneratedSamples() {
         int available = -1;
-        if (monitor != null)
+        if (ring != null) {
+            ring.publish();
+            available = ring.size();
+        } else if (monitor != null)
             available = monitor.nextSamples(samples, generatedSamples);
         generatedSamples = 0;
         return available;
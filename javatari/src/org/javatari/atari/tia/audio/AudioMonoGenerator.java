@@ -20,7 +20,10 @@ public final class AudioMonoGenerator extends AudioGenerator {
                 lastSample = mixedSample;
             }
 
-            samples[generatedSamples++] = (byte) (mixedSample * MAX_AMPLITUDE * 127);
+            final byte sample = (byte) (mixedSample * MAX_AMPLITUDE * 127);
+            if (ring != null) ring.put(sample);
+            else samples[generatedSamples] = sample;
+            generatedSamples++;
             frameSamples++;
         }
     }
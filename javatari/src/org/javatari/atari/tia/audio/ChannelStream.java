@@ -4,21 +4,35 @@ package org.javatari.atari.tia.audio;
 
 public final class ChannelStream {
 
+    // Output sequences of the polynomial counters from their power on states, all periodic
+    // Counters are kept as positions in these tables, which advance and wrap around instead of shifting bits
+    private static final int[] POLY4_STREAM = polyStream(4, 1, 15);
+    private static final int[] POLY5_STREAM = polyStream(5, 2, 31);
+    private static final int[] POLY9_STREAM = polyStream(9, 4, 511);
     private static final int[] TONE31_STREAM = new int[]{
             1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0
     };
+    // Whether the div 31 tone changes when advanced from each position
+    private static final boolean[] TONE31_CHANGES = new boolean[31];
+    // Div 6 tone (3 high, 3 low) from its power on state, in the middle of the high half
+    private static final int[] TONE6_STREAM = new int[]{1, 1, 0, 0, 0, 1};
     private static final int MAX_VOLUME = 15;
+
+    static {
+        for (int i = 0; i < 31; i++) TONE31_CHANGES[i] = TONE31_STREAM[i] != TONE31_STREAM[(i + 1) % 31];
+    }
+
     private float volume = 0;                    // 0 - 1
     private int control = 0;                    // 0-f
     private int divider = 1;                    // Changes to dividers will only be reflected at the next countdown cycle
     private int dividerCountdown = 1;
     private int currentSample = 0;
-    private int poly4 = 0x0f;
-    private int poly5 = 0x1f;
-    private int poly9 = 0x1ff;
+    private int poly4 = 0;                      // Positions in the streams above
+    private int poly5 = 0;
+    private int poly9 = 0;
     private int tone2 = 1;
     private int tone6 = 1;
-    private int tone6Countdown = 3;
+    private int tone6Position = 0;
     private int tone31Count = 30;
 
     float nextSample() {                // Range 0 - 1
@@ -45,93 +59,88 @@ public final class ChannelStream {
     }
 
     private int nextSampleForControl() {
-        if (control == 0x00 || control == 0x0b)
-            return 1;                                                                // Silence  ("set to 1" per specification)
-        if (control == 0x01)
-            return nextPoly4();                                                        // 4 bit poly
-        if (control == 0x02)
-            return currentTone31() != nextTone31() ? nextPoly4() : currentPoly4();    // div 15 > 4 bit poly
-        if (control == 0x03)
-            return nextPoly5() == 1 ? nextPoly4() : currentPoly4();                    // 5 bit poly > 4 bit poly
-        if (control == 0x04 || control == 0x05)
-            return nextTone2();                                                        // div 2 pure tone
-        if (control == 0x06 || control == 0x0a)
-            return nextTone31();                                                    // div 31 pure tone (18 high, 13, low)
-        if (control == 0x07 || control == 0x09)
-            return nextPoly5();                                                        // 5 bit poly
-        if (control == 0x08)
-            return nextPoly9();                                                        // 9 bit poly
-        if (control == 0x0c || control == 0x0d)
-            return nextTone6();                                                        // div 6 pure tone (3 high, 3 low)
-        if (control == 0x0e)
-            return currentTone31() != nextTone31() ? nextTone6() : currentTone6();    // div 93 pure tone	(31 tone each 3)
-        if (control == 0x0f)
-            return nextPoly5() == 1 ? nextTone6() : currentTone6();                    // 5 bit poly div 6 (poly 5 each 3)
-
+        switch (control) {
+            case 0x00: case 0x0b:
+                return 1;                                                                // Silence  ("set to 1" per specification)
+            case 0x01:
+                return nextPoly4();                                                        // 4 bit poly
+            case 0x02:
+                return TONE31_CHANGES[nextTone31Position()] ? nextPoly4() : currentPoly4();    // div 15 > 4 bit poly
+            case 0x03:
+                return nextPoly5() == 1 ? nextPoly4() : currentPoly4();                    // 5 bit poly > 4 bit poly
+            case 0x04: case 0x05:
+                return nextTone2();                                                        // div 2 pure tone
+            case 0x06: case 0x0a:
+                return nextTone31();                                                    // div 31 pure tone (18 high, 13, low)
+            case 0x07: case 0x09:
+                return nextPoly5();                                                        // 5 bit poly
+            case 0x08:
+                return nextPoly9();                                                        // 9 bit poly
+            case 0x0c: case 0x0d:
+                return nextTone6();                                                        // div 6 pure tone (3 high, 3 low)
+            case 0x0e:
+                return TONE31_CHANGES[nextTone31Position()] ? nextTone6() : tone6;        // div 93 pure tone	(31 tone each 3)
+            case 0x0f:
+                return nextPoly5() == 1 ? nextTone6() : tone6;                            // 5 bit poly div 6 (poly 5 each 3)
+        }
         throw new IllegalStateException("Invalid TIA Audio Channel Control: " + control);
     }
 
     private int currentPoly4() {
-        return poly4 & 0x01;
+        return POLY4_STREAM[poly4];
     }
 
     private int nextPoly4() {
-        final int carry = poly4 & 0x01;                    // bit 0
-        final int push = ((poly4 >> 1) ^ carry) & 0x01;    // bit 1 XOR bit 0
-        poly4 = poly4 >>> 1;                            // shift right
-        if (push == 0)                                    // set bit 3 = push
-            poly4 &= 0x07;
-        else
-            poly4 |= 0x08;
-        return carry;
+        final int bit = POLY4_STREAM[poly4];
+        if (++poly4 == POLY4_STREAM.length) poly4 = 0;
+        return bit;
     }
 
     private int nextPoly5() {
-        final int carry = poly5 & 0x01;                    // bit 0
-        final int push = ((poly5 >> 2) ^ carry) & 0x01;    // bit 2 XOR bit 0
-        poly5 = poly5 >>> 1;                            // shift right
-        if (push == 0)                                    // set bit 4 = push
-            poly5 &= 0x0f;
-        else
-            poly5 |= 0x10;
-        return carry;
+        final int bit = POLY5_STREAM[poly5];
+        if (++poly5 == POLY5_STREAM.length) poly5 = 0;
+        return bit;
     }
 
     private int nextPoly9() {
-        final int carry = poly9 & 0x01;                    // bit 0
-        final int push = ((poly9 >> 4) ^ carry) & 0x01;    // bit 4 XOR bit 0
-        poly9 = poly9 >>> 1;                            // shift right
-        if (push == 0)                                    // set bit 8 = push
-            poly9 &= 0x0ff;
-        else
-            poly9 |= 0x100;
-        return carry;
+        final int bit = POLY9_STREAM[poly9];
+        if (++poly9 == POLY9_STREAM.length) poly9 = 0;
+        return bit;
     }
 
     private int nextTone2() {
         return tone2 = tone2 == 0 ? 1 : 0;
     }
 
-    private int currentTone6() {
-        return tone6;
-    }
-
     private int nextTone6() {
-        if (--tone6Countdown == 0) {
-            tone6Countdown = 3;
-            tone6 = tone6 == 0 ? 1 : 0;
-        }
+        tone6 = TONE6_STREAM[tone6Position];
+        if (++tone6Position == TONE6_STREAM.length) tone6Position = 0;
         return tone6;
     }
 
-    private int currentTone31() {
+    private int nextTone31() {
+        if (++tone31Count == 31) tone31Count = 0;
         return TONE31_STREAM[tone31Count];
     }
 
-    private int nextTone31() {
-        if (++tone31Count == 31)
-            tone31Count = 0;
-        return TONE31_STREAM[tone31Count];
+    // Advances the div 31 tone, returning the position it was at
+    private int nextTone31Position() {
+        final int position = tone31Count;
+        if (++tone31Count == 31) tone31Count = 0;
+        return position;
+    }
+
+    // Bits shifted out by a polynomial counter with all bits set, which pushes bit 0 XOR the tap bit in at the top
+    private static int[] polyStream(int bits, int tap, int period) {
+        final int[] stream = new int[period];
+        int poly = (1 << bits) - 1;
+        for (int i = 0; i < period; i++) {
+            final int carry = poly & 0x01;
+            final int push = ((poly >> tap) ^ carry) & 0x01;
+            poly = (poly >>> 1) | (push << (bits - 1));
+            stream[i] = carry;
+        }
+        return stream;
     }
 
 }
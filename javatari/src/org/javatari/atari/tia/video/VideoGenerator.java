@@ -12,14 +12,20 @@ public final class VideoGenerator implements VideoSignal {
     private static final boolean SYNC_WITH_VIDEO_MONITOR = Parameters.TIA_SYNC_WITH_VIDEO_MONITOR;
     private VideoMonitor monitor;
     private VideoStandard standard;
+    private int[] colors;
 
-    public boolean nextLine(final int[] pixels, boolean vSynch) {
+    public boolean nextLine(final int[] pixels, boolean repeated, boolean vSynch) {
         if (monitor == null) return false;
-        return monitor.nextLine(pixels, vSynch);
+        return monitor.nextLine(pixels, repeated, vSynch);
+    }
+
+    public boolean skipLine(boolean vSynch) {
+        if (monitor == null) return false;
+        return monitor.skipLine(vSynch);
     }
 
     public void signalOff() {
-        if (monitor != null) monitor.nextLine(null, false);
+        if (monitor != null) monitor.nextLine(null, false, false);
     }
 
     public void showOSD(String message, boolean overlap) {
@@ -36,6 +42,11 @@ public final class VideoGenerator implements VideoSignal {
         return standard;
     }
 
+    @Override
+    public int[] colors() {
+        return colors;
+    }
+
     @Override
     public void connectMonitor(VideoMonitor monitor) {
         this.monitor = monitor;
@@ -45,6 +56,10 @@ public final class VideoGenerator implements VideoSignal {
         this.standard = standard;
     }
 
+    public void colors(int[] colors) {
+        this.colors = colors;
+    }
+
     public void finishFrame() {
         // Synch with video monitor after each frame as needed
         if (SYNC_WITH_VIDEO_MONITOR && monitor != null) monitor.synchOutput();
@@ -6,6 +6,12 @@ public interface AudioMonitor {
 
     int nextSamples(byte[] samples, int quant);
 
+    // Samples waiting to be played, relative to the amount needed for gapless playback with low latency. -1 = unknown
+    float bufferLevel();
+
+    // Where signals can put samples directly instead of sending them, from a single thread. null = not supported
+    AudioRingBuffer ringBuffer();
+
     void synchOutput();
 
 }
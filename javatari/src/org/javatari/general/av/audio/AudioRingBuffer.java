@@ -0,0 +1,85 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.general.av.audio;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock free ring buffer of samples for exactly one producer and one consumer thread
+// Each side keeps its own index locally, and only publishes it to the other side when done with a batch
+public final class AudioRingBuffer {
+
+    private static final int PADDING = 16;        // Keeps each published index in its own cache line
+    private static final int READ = PADDING;
+    private static final int WRITE = PADDING * 2;
+
+    private final byte[] buffer;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLongArray indexes = new AtomicLongArray(PADDING * 3);
+
+    // Producer side
+    private long writeIndex = 0;
+    private long readIndexSeen = 0;
+
+    // Consumer side
+    private long readIndex = 0;
+
+    public AudioRingBuffer(int capacity) {
+        this.capacity = capacity;
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        buffer = new byte[size];
+        mask = size - 1;
+    }
+
+    // Samples published and not yet consumed. May be called from any thread
+    public int size() {
+        return (int) (indexes.get(WRITE) - indexes.get(READ));
+    }
+
+    // Producer: stores a sample, to be seen by the consumer only after publish. Samples that don't fit are dropped
+    public boolean put(byte sample) {
+        if (writeIndex - readIndexSeen >= capacity) {
+            readIndexSeen = indexes.get(READ);
+            if (writeIndex - readIndexSeen >= capacity) return false;
+        }
+        buffer[(int) writeIndex & mask] = sample;
+        writeIndex++;
+        return true;
+    }
+
+    // Producer: stores a 16 bit sample little endian. Dropped whole if both bytes don't fit
+    public boolean put16(int sample) {
+        if (writeIndex + 1 - readIndexSeen >= capacity) {
+            readIndexSeen = indexes.get(READ);
+            if (writeIndex + 1 - readIndexSeen >= capacity) return false;
+        }
+        buffer[(int) writeIndex & mask] = (byte) sample;
+        buffer[(int) (writeIndex + 1) & mask] = (byte) (sample >> 8);
+        writeIndex += 2;
+        return true;
+    }
+
+    public void publish() {
+        indexes.lazySet(WRITE, writeIndex);
+    }
+
+    // Consumer: samples published can be read straight from the array, starting at the read offset
+    public byte[] array() {
+        return buffer;
+    }
+
+    public int readOffset() {
+        return (int) readIndex & mask;
+    }
+
+    // Samples available from the read offset up to the end of the array
+    public int contiguousAvailable() {
+        return (int) Math.min(indexes.get(WRITE) - readIndex, buffer.length - readOffset());
+    }
+
+    public void consumed(int quant) {
+        readIndex += quant;
+        indexes.lazySet(READ, readIndex);
+    }
+
+}
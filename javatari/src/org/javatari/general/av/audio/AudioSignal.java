@@ -6,4 +6,9 @@ public interface AudioSignal {
 
     void connectMonitor(AudioMonitor monitor);
 
+    // Samples are mono and signed, 16 bit ones little endian
+    int sampleRate();
+
+    int sampleBits();
+
 }
@@ -4,7 +4,11 @@ package org.javatari.general.av.video;
 
 public interface VideoMonitor {
 
-    boolean nextLine(int[] pixels, boolean vSynch);
+    // Repeated lines have exactly the same pixels as the last line sent
+    boolean nextLine(int[] pixels, boolean repeated, boolean vSynch);
+
+    // Same as nextLine for a line with no pixels, in a frame not rendered
+    boolean skipLine(boolean vSynch);
 
     void showOSD(String message, boolean overlap);
 
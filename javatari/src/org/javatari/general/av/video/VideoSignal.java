@@ -6,6 +6,9 @@ public interface VideoSignal {
 
     VideoStandard standard();
 
+    // Colors of the pixel values sent in lines, or null if pixels are ARGB colors
+    int[] colors();
+
     void connectMonitor(VideoMonitor monitor);
 
 }
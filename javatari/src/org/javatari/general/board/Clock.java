@@ -2,36 +2,87 @@
 
 package org.javatari.general.board;
 
+import org.javatari.parameters.Parameters;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
 
 public final class Clock extends Thread {
 
+    private static final int RESYNC_CYCLES = 3;                 // Cycles behind before giving up catching up
+    private static final long MIN_SPIN_TIME = 20000;            // In nanoseconds
+    private static final long MAX_SPIN_TIME = 1000000;
+    private static final boolean CAN_SPIN = Runtime.getRuntime().availableProcessors() > 1;
+    private static final boolean SINGLE_THREAD = Parameters.CONSOLE_SINGLE_THREAD_CLOCKS;
+    private static final MethodHandle ON_SPIN_WAIT = onSpinWaitHandle();
+
     private final ClockDriven driven;
+    private final Pacing pacing;
+    private final boolean scheduled;   // Pulsed by the single Scheduler thread instead of its own
     private double hertz;
     private boolean alive;
-    private boolean running;
+    private volatile boolean running;
+    private volatile boolean onDemand;
     private long cycleDuration;        // In nanoseconds. -1 = Maximum Speed, 0 = never starts
     private long cycle = 0;
     private long startTime = 0;
+    private long scheduleStart = 0;    // Cycles are scheduled from here, restarted when too late
+    private long scheduleCycle = 0;
+    private long parkOvershoot = 0;    // Average time parks wake up after asked, in nanoseconds
+    private volatile long ticks = 0;
+    private volatile long latenessTotal = 0;
+    private volatile long latenessMax = 0;
+    private volatile int resyncs = 0;
 
-    public Clock(String name, ClockDriven driven, double hertz) {
+    public Clock(String name, ClockDriven driven, double hertz, Pacing pacing) {
         super(name);
         running = false;
         alive = true;
         this.driven = driven;
+        this.pacing = pacing == Pacing.HYBRID && !CAN_SPIN ? Pacing.PARK : pacing;
+        scheduled = SINGLE_THREAD;
         speed(hertz);
-        start();
+        if (scheduled) Scheduler.schedule(this);
+        else start();
+    }
+
+    // The Clock pulsing in the current thread
+    public static Clock current() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof Scheduler ? ((Scheduler) thread).current() : (Clock) thread;
+    }
+
+    public boolean scheduled() {
+        return scheduled;
+    }
+
+    // Maximum speed Clocks whose pulses wait for data to output. Scheduled pulses can't wait, so while no paced
+    // Clock is running the Scheduler pulses these only periodically
+    public void onDemand(boolean onDemand) {
+        this.onDemand = onDemand;
     }
 
     public void go() {
         if (cycleDuration == 0) return;
+        if (scheduled) {
+            synchronized (this) {
+                startSchedule();
+                running = true;
+            }
+            Scheduler.changed();
+            return;
+        }
         running = true;
         interrupt();
     }
 
     public void pause() {
         running = false;
-        interrupt();
+        if (scheduled) Scheduler.changed();
+        else interrupt();
         synchronized (this) {
             // Just wait for the running loop to pause
             // Also guarantee "happens-before" of state modified prior to the clock pause
@@ -41,6 +92,13 @@ public final class Clock extends Thread {
     public void terminate() {
         alive = false;
         running = false;
+        if (scheduled) {
+            Scheduler.unschedule(this);
+            synchronized (this) {
+                // Just wait for a pulse in progress to finish
+            }
+            return;
+        }
         interrupt();
         try {
             // Just wait for the running loop to pause
@@ -60,6 +118,37 @@ public final class Clock extends Thread {
         if (wasRunning) go();
     }
 
+    // Runs slightly faster or slower than the speed set, by the factor given, keeping the schedule continuous
+    // Meant to be called during pulses, by whatever this Clock drives
+    public void trim(double factor) {
+        if (hertz <= 0) return;
+        long duration = (long) (1 / (hertz * factor) * 1000000000);
+        if (duration == cycleDuration) return;
+        scheduleStart = nextDue();
+        scheduleCycle = cycle;
+        cycleDuration = duration;
+    }
+
+    // Average and maximum time cycles started after they were due, in nanoseconds
+    public long latenessAverage() {
+        long t = ticks;
+        return t == 0 ? 0 : latenessTotal / t;
+    }
+
+    public long latenessMax() {
+        return latenessMax;
+    }
+
+    // Times the schedule was restarted because cycles were too late to catch up
+    public int resyncs() {
+        return resyncs;
+    }
+
+    public void resetMetrics() {
+        ticks = latenessTotal = latenessMax = 0;
+        resyncs = 0;
+    }
+
     @Override
     public synchronized void run() {
         while (alive) {
@@ -69,20 +158,14 @@ public final class Clock extends Thread {
                 } catch (InterruptedException ignored) {
                 }
             if (!alive) return;
-            long waitTime;
-            cycle = 0;
-            startTime = System.nanoTime();
+            startSchedule();
             try {
                 while (running) {
                     driven.clockPulse();
                     cycle++;
-                    if (cycleDuration > 0) {
-                        waitTime = startTime + cycle * cycleDuration - System.nanoTime();
-                        if (waitTime > 0)
-                            sleep(waitTime / 1000000, (int) (waitTime % 1000000));
-                        else
-                            Thread.yield();
-                    } else
+                    if (cycleDuration > 0)
+                        waitNextCycle();
+                    else
                         Thread.yield();
                 }
             } catch (InterruptedException ignored) {
@@ -90,6 +173,105 @@ public final class Clock extends Thread {
         }
     }
 
+    private void startSchedule() {
+        cycle = 0;
+        startTime = scheduleStart = System.nanoTime();
+        scheduleCycle = 0;
+        resetMetrics();
+    }
+
+    boolean paced() {
+        return cycleDuration > 0;
+    }
+
+    boolean running() {
+        return running;
+    }
+
+    boolean onDemand() {
+        return onDemand;
+    }
+
+    long nextDue() {
+        return scheduleStart + (cycle - scheduleCycle) * cycleDuration;
+    }
+
+    // Pulse given by the Scheduler, unless paused meanwhile
+    void scheduledPulse() {
+        synchronized (this) {
+            if (!running) return;
+            driven.clockPulse();
+            cycle++;
+        }
+    }
+
+    void waitNextCycle() throws InterruptedException {
+        final long due = nextDue();
+        long waitTime = due - System.nanoTime();
+        if (waitTime > 0) {
+            switch (pacing) {
+                case SLEEP:
+                    sleep(waitTime / 1000000, (int) (waitTime % 1000000));
+                    break;
+                case PARK:
+                    park(due);
+                    break;
+                case HYBRID:
+                    park(due - spinTime());
+                    spin(due);
+                    break;
+            }
+        } else {
+            Thread.yield();
+            // Running cycles back to back would only make the following ones irregular, so restart the schedule
+            if (-waitTime > cycleDuration * RESYNC_CYCLES) {
+                scheduleStart = System.nanoTime();
+                scheduleCycle = cycle;
+                resyncs++;
+            }
+        }
+        long lateness = Math.max(System.nanoTime() - due, 0);
+        latenessTotal += lateness;
+        if (lateness > latenessMax) latenessMax = lateness;
+        ticks++;
+    }
+
+    // Parks until the time given, measuring how late parks wake up to calibrate the spin time
+    private void park(long until) throws InterruptedException {
+        long remaining = until - System.nanoTime();
+        if (remaining <= 0) return;
+        do {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) throw new InterruptedException();
+            remaining = until - System.nanoTime();
+        } while (remaining > 0);
+        parkOvershoot += (-remaining - parkOvershoot) / 8;
+    }
+
+    private void spin(long until) throws InterruptedException {
+        while (until - System.nanoTime() > 0) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            if (ON_SPIN_WAIT != null)
+                try {
+                    ON_SPIN_WAIT.invokeExact();
+                } catch (Throwable ignored) {
+                }
+        }
+    }
+
+    // Thread.onSpinWait() exists only from Java 9 on. Older JVMs just spin on the time check
+    private static MethodHandle onSpinWaitHandle() {
+        try {
+            return MethodHandles.lookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private long spinTime() {
+        return Math.min(Math.max(parkOvershoot * 2, MIN_SPIN_TIME), MAX_SPIN_TIME);
+    }
+
     @Override
     public String toString() {
         String res = alive ? (running ? "Running" : "Paused") : "Terminated";
@@ -98,6 +280,9 @@ public final class Clock extends Thread {
             if (cy > 1000000) res = res + " at " + String.format(Locale.ENGLISH, "%.3fMHz", cy / 1000000);
             else if (cy > 1000) res = res + " at " + String.format(Locale.ENGLISH, "%.3fKHz", cy / 1000);
             else res = res + " at " + String.format(Locale.ENGLISH, "%.3fHz", cy);
+            if (cycleDuration > 0)
+                res = res + String.format(Locale.ENGLISH, " (%s, late avg %.3fms max %.3fms, %d resyncs)",
+                        pacing, latenessAverage() / 1000000f, latenessMax() / 1000000f, resyncs());
         }
         return res;
     }
@@ -108,4 +293,10 @@ public final class Clock extends Thread {
         return ((float) cycle / ((float) elapsed / 1000000000));
     }
 
+
+    // How cycles wait for their time: sleeping, parking, or parking most of the time and spinning until exactly on time
+    public enum Pacing {
+        SLEEP, PARK, HYBRID
+    }
+
 }
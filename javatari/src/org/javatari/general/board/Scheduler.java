@@ -0,0 +1,110 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.general.board;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Single thread pulsing all scheduled Clocks on a shared timeline, instead of one thread per Clock
+// Paced Clocks are pulsed in the order they are due, ties going to the Clock created first. Clocks without
+// a rate (on demand or maximum speed) are pulsed after every paced pulse. If no paced Clock is running, maximum speed
+// Clocks are pulsed continuously, and on demand ones only every ON_DEMAND_PERIOD
+final class Scheduler extends Thread {
+
+    private static final long ON_DEMAND_PERIOD = 1000 / 60 * 2;     // In milliseconds, as long as on demand outputs wait in their own threads
+
+    private static Scheduler instance;
+
+    private final List<Clock> clocks = new CopyOnWriteArrayList<Clock>();
+    private volatile Clock current;
+
+    private Scheduler() {
+        super("Clock Scheduler");
+    }
+
+    static synchronized void schedule(Clock clock) {
+        if (instance == null) {
+            instance = new Scheduler();
+            instance.start();
+        }
+        instance.clocks.add(clock);
+    }
+
+    static synchronized void unschedule(Clock clock) {
+        if (instance == null) return;
+        instance.clocks.remove(clock);
+        instance.interrupt();
+    }
+
+    // Clocks started, paused or changed speed. Wakes the scheduler to look at them again
+    static synchronized void changed() {
+        if (instance != null) instance.interrupt();
+    }
+
+    Clock current() {
+        return current;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            Clock next = null;
+            boolean unpaced = false, continuous = false;
+            for (Clock clock : clocks) {
+                if (!clock.running()) continue;
+                if (!clock.paced()) {
+                    unpaced = true;
+                    if (!clock.onDemand()) continuous = true;
+                } else if (next == null || clock.nextDue() - next.nextDue() < 0) next = clock;
+            }
+            if (next == null && !unpaced) {
+                if (idle()) continue;
+                return;
+            }
+            if (next != null) {
+                try {
+                    next.waitNextCycle();
+                } catch (InterruptedException e) {
+                    continue;        // Clocks changed while waiting, look again
+                }
+                pulse(next);
+            } else if (!continuous) {
+                try {
+                    synchronized (this) {
+                        wait(ON_DEMAND_PERIOD);
+                    }
+                } catch (InterruptedException e) {
+                    continue;        // Clocks changed while waiting, look again
+                }
+            } else
+                Thread.yield();
+            for (Clock clock : clocks)
+                if (!clock.paced()) pulse(clock);
+        }
+    }
+
+    private void pulse(Clock clock) {
+        Thread.interrupted();        // Changes so far were already seen, keep them from interrupting the pulse
+        current = clock;
+        clock.scheduledPulse();
+        current = null;
+    }
+
+    // Waits for a Clock to start. Ends the scheduler when no Clocks are left
+    private boolean idle() {
+        synchronized (Scheduler.class) {
+            if (clocks.isEmpty()) {
+                instance = null;
+                return false;
+            }
+        }
+        synchronized (this) {
+            try {
+                wait();
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return true;
+    }
+
+}
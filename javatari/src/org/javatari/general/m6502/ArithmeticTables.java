@@ -0,0 +1,104 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.general.m6502;
+
+import static org.javatari.general.m6502.StatusBit.*;
+
+// Precomputed results and flags for the arithmetic instructions, shared by all CPU instances
+// Each entry holds the resulting byte in the low 8 bits and the affected flags in the high 8 bits, at their Status Register positions
+public final class ArithmeticTables {
+
+    private static final int C = 1 << (bCARRY + 8);
+    private static final int Z = 1 << (bZERO + 8);
+    private static final int V = 1 << (bOVERFLOW + 8);
+    private static final int N = 1 << (bNEGATIVE + 8);
+
+    private static final int CARRY_INDEX = 0x10000;
+    private static final int DECIMAL_INDEX = 0x20000;
+
+    // ZERO and NEGATIVE flags per byte value
+    private static final int[] NZ = new int[256];
+    // Indexed by Decimal Mode, Carry, A and operand
+    private static final short[] ADC = new short[0x40000];
+    private static final short[] SBC = new short[0x40000];
+
+    static {
+        for (int v = 0; v < 256; v++)
+            NZ[v] = (v == 0 ? Z : 0) | ((v & 0x80) != 0 ? N : 0);
+        for (int i = 0; i < ADC.length; i++) {
+            final boolean decimal = (i & DECIMAL_INDEX) != 0;
+            final int carry = (i & CARRY_INDEX) != 0 ? 1 : 0;
+            ADC[i] = adcEntry((i >> 8) & 0xff, i & 0xff, carry, decimal);
+            SBC[i] = sbcEntry((i >> 8) & 0xff, i & 0xff, carry, decimal);
+        }
+    }
+
+    public static void adc(M6502 cpu, byte b) {
+        final short r = ADC[index(cpu, b)];
+        apply(cpu, r);
+        cpu.A = (byte) r;
+    }
+
+    public static void sbc(M6502 cpu, byte b) {
+        final short r = SBC[index(cpu, b)];
+        apply(cpu, r);
+        cpu.A = (byte) r;
+    }
+
+    // Returns reg - val. CARRY, ZERO and NEGATIVE flags are set as in CMP, OVERFLOW is not affected
+    public static byte compare(M6502 cpu, byte reg, byte val) {
+        final short r = SBC[CARRY_INDEX | ((reg & 0xff) << 8) | (val & 0xff)];
+        cpu.CARRY = (r & C) != 0;
+        cpu.ZERO = (r & Z) != 0;
+        cpu.NEGATIVE = (r & N) != 0;
+        return (byte) r;
+    }
+
+    private static int index(M6502 cpu, byte b) {
+        return (cpu.DECIMAL_MODE ? DECIMAL_INDEX : 0) | (cpu.CARRY ? CARRY_INDEX : 0) | ((cpu.A & 0xff) << 8) | (b & 0xff);
+    }
+
+    private static void apply(M6502 cpu, short r) {
+        cpu.CARRY = (r & C) != 0;
+        cpu.ZERO = (r & Z) != 0;
+        cpu.OVERFLOW = (r & V) != 0;
+        cpu.NEGATIVE = (r & N) != 0;
+    }
+
+    private static short adcEntry(int uA, int uB, int carry, boolean decimal) {
+        final int aux = (byte) uA + (byte) uB + carry;
+        int uAux = uA + uB + carry;
+        // ZERO flag is affected always as in Binary mode
+        final int zero = NZ[uAux & 0xff] & Z;
+        if (!decimal)
+            return entry(uAux, NZ[uAux & 0xff] | (aux > 127 || aux < -128 ? V : 0) | (uAux > 0xff ? C : 0));
+        // Decimal Mode computations
+        uAux = (uA & 0x0f) + (uB & 0x0f) + carry;
+        if (uAux >= 0x0A) uAux = ((uAux + 0x06) & 0x0f) + 0x10;
+        final int dAux = (byte) (uA & 0xf0) + (byte) (uB & 0xf0) + (byte) uAux;     // Holy shit, that was the *unsigned* operation
+        final int flags = zero | ((dAux & 0x80) > 0 ? N : 0) | ((dAux > 127) | (dAux < -128) ? V : 0);
+        uAux = (uA & 0xf0) + (uB & 0xf0) + uAux;
+        if (uAux >= 0xA0) uAux += 0x60;
+        return entry(uAux, flags | (uAux > 0xff ? C : 0));
+    }
+
+    private static short sbcEntry(int uA, int uB, int carry, boolean decimal) {
+        final int borrow = 1 - carry;
+        final int aux = (byte) uA - (byte) uB - borrow;
+        int uAux = uA - uB - borrow;
+        // Flags are affected always as in Binary mode
+        final int flags = NZ[uAux & 0xff] | (aux > 127 || aux < -128 ? V : 0) | (uAux >= 0 ? C : 0);
+        if (!decimal) return entry(uAux, flags);
+        // But the ACC is computed differently in Decimal Mode
+        uAux = (uA & 0x0f) - (uB & 0x0f) - borrow;
+        if (uAux < 0) uAux = ((uAux - 0x06) & 0x0f) - 0x10;
+        uAux = (uA & 0xf0) - (uB & 0xf0) + uAux;
+        if (uAux < 0) uAux -= 0x60;
+        return entry(uAux, flags);
+    }
+
+    private static short entry(int result, int flags) {
+        return (short) ((result & 0xff) | flags);
+    }
+
+}
@@ -0,0 +1,17 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.general.m6502;
+
+/**
+ * Implemented by buses able to expose areas with static contents (ROM) directly to the CPU,
+ * so code can be fetched from them skipping the full bus decoding
+ */
+public interface CodeWindowBus {
+
+    // Should call cpu.openCodeWindow() only if the contents around the address are static and readable without side effects
+    void requestCodeWindow(int address, M6502 cpu);
+
+    // Byte fetched directly through the window, as if it was read via the bus
+    void codeWindowFetched(byte data);
+
+}
@@ -0,0 +1,15 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.general.m6502;
+
+/**
+ * Implemented by buses able to predict the values read by tight polling loops,
+ * so the CPU can skip the loop iterations that would not exit
+ */
+public interface IdleLoopBus {
+
+    // Returns how many cycles can be skipped for a loop reading the address every period cycles, the first read being readDelay cycles from now.
+    // Should stop at the first read where ((value & mask) == 0) == exitWhenZero, or at any read that would have other effects than the previous ones
+    int idleLoopCycles(int address, int readDelay, int period, int mask, boolean exitWhenZero);
+
+}
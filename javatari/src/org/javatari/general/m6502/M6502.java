@@ -6,6 +6,7 @@ import org.javatari.general.board.BUS16Bits;
 import org.javatari.general.board.Clock;
 import org.javatari.general.board.ClockDriven;
 import org.javatari.general.m6502.instructions.*;
+import org.javatari.parameters.Parameters;
 import org.javatari.utils.Debugger;
 
 import java.io.Serializable;
@@ -25,6 +26,9 @@ public final class M6502 implements ClockDriven {
     private static final int STACK_PAGE = 0x0100;
     private static final byte BREAK_COMMAND_FLAG = 0x10;
     private static final int POWER_ON_RESET_ADDRESS = 0xfffc;
+    private static final boolean SWITCH_DISPATCH = Parameters.CPU_SWITCH_DISPATCH;
+    private static final boolean CODE_WINDOW = Parameters.CPU_CODE_WINDOW;
+    private static final boolean IDLE_LOOP_SKIP = Parameters.CPU_IDLE_LOOP_SKIP;
     public final Instruction[] instructions = {
             /*   00 - BRK                  */  new BRK(this),
             /*   01 - ORA  - (Indirect,X)  */  new ORA(this, IND_X),
@@ -291,10 +295,27 @@ public final class M6502 implements ClockDriven {
     public boolean trace = false;
     public boolean debug = false;
     public boolean pageCrossed = false;
+    public long cycles = 0;        // Clock pulses received so far, including the one being executed
     private int remainingCycles = -1;
     private Instruction currentInstruction;
+    private final SwitchCore switchCore;        // null = dispatch through the instructions table
+    // Area with static contents where code is fetched directly, skipping the bus. Addresses from start to end - 1
+    private CodeWindowBus codeWindowBus;
+    private byte[] codeWindowBytes;
+    private int codeWindowStart = 0, codeWindowEnd = 0, codeWindowOffset = 0;
+    // Last two instructions fetched, used to detect tight loops polling a register
+    private IdleLoopBus idleLoopBus;
+    private int idleLoopPC1 = -1, idleLoopOpcode1, idleLoopPC2 = -1, idleLoopOpcode2, idleLoopAddress;
+    private long idleLoopCycle1, idleLoopCycle2;
+    private final Instruction idleLoop = new IdleLoop(this);
+    public long idleLoopSkippedCycles = 0;        // Cycles skipped so far by idle loop detection
 
     public M6502() {
+        this(SWITCH_DISPATCH);
+    }
+
+    public M6502(boolean switchDispatch) {
+        switchCore = switchDispatch ? new SwitchCore(this) : null;
     }
 
     // Convenience methods
@@ -308,6 +329,23 @@ public final class M6502 implements ClockDriven {
 
     public void connectBus(BUS16Bits bus) {
         this.bus = bus;
+        codeWindowBus = CODE_WINDOW && bus instanceof CodeWindowBus ? (CodeWindowBus) bus : null;
+        closeCodeWindow();
+        idleLoopBus = IDLE_LOOP_SKIP && bus instanceof IdleLoopBus ? (IdleLoopBus) bus : null;
+    }
+
+    // Addresses from start to end - 1 will be fetched directly from bytes[address + offset]
+    public void openCodeWindow(byte[] bytes, int start, int end, int offset) {
+        codeWindowBytes = bytes;
+        codeWindowStart = start;
+        codeWindowEnd = end;
+        codeWindowOffset = offset;
+    }
+
+    // Must be called by the bus whenever the contents mapped in the window area may have changed
+    public void closeCodeWindow() {
+        codeWindowBytes = null;
+        codeWindowStart = codeWindowEnd = 0;
     }
 
     public void reset() {
@@ -315,6 +353,7 @@ public final class M6502 implements ClockDriven {
         INTERRUPT_DISABLE = true;
         currentInstruction = null;
         remainingCycles = -1;
+        idleLoopPC1 = idleLoopPC2 = -1;
     }
 
     /**
@@ -323,6 +362,7 @@ public final class M6502 implements ClockDriven {
      */
     @Override
     public void clockPulse() {
+        cycles++;
         // If this is the last execution cycle of the instruction, execute it ignoring the !RDY signal
         if (remainingCycles == 1) {
             // if (trace) showDebug(">>> TRACE");
@@ -332,10 +372,83 @@ public final class M6502 implements ClockDriven {
         }
         if (!RDY) return;                        // CPU is halted
         if (remainingCycles-- > 0) return;        // CPU is still "executing" remaining instruction cycles
-        currentInstruction = instructions[toUnsignedByte(bus.readByte(PC++))];    // Reads the instruction to be executed
+        fetchNextInstruction();
+    }
+
+    /**
+     * Same as calling clockPulse() the given number of times, but each instruction is fetched and executed at once
+     * and the cycles in between are skipped. The cycles counter is always at the cycle being executed,
+     * so devices connected to the bus can catch up with the CPU when accessed
+     */
+    public void clockPulses(int quant) {
+        final long end = cycles + quant;
+        while (cycles < end) {
+            // Skip the cycles in between at once
+            if (remainingCycles > 1 && RDY) {
+                final int skip = (int) Math.min(remainingCycles - 1, end - cycles);
+                remainingCycles -= skip;
+                cycles += skip;
+                continue;
+            }
+            cycles++;
+            if (remainingCycles == 1) {
+                currentInstruction.execute();
+                remainingCycles = 0;
+                continue;
+            }
+            if (!RDY) {                        // CPU is halted for the remaining cycles. Only the TIA can release it
+                cycles = end;
+                return;
+            }
+            fetchNextInstruction();
+        }
+    }
+
+    private void fetchNextInstruction() {
+        if (idleLoopBus != null && PC == idleLoopPC2 && idleLoopPC1 == PC + 3 && skipIdleLoop()) return;
+        if (switchCore != null) currentInstruction = switchCore;                 // Will read the opcode by itself
+        else currentInstruction = instructions[fetchOpcode()];                   // Reads the instruction to be executed
         remainingCycles = currentInstruction.fetch() - 1;                        // One cycle was just executed already!
     }
 
+    // We are at the start of a loop like LDA INTIM / BNE back to it, already run at least once.
+    // The iterations that would not exit the loop are predicted by the bus and skipped as if the CPU was halted
+    private boolean skipIdleLoop() {
+        final int read = idleLoopOpcode2;
+        if (read != 0xad && read != 0xae && read != 0xac && read != 0x2c) return false;    // LDA, LDX, LDY or BIT Absolute
+        final boolean bit = read == 0x2c;
+        final int mask;
+        final boolean exitWhenZero;
+        switch (idleLoopOpcode1) {
+            case 0xd0:      // BNE
+                mask = bit ? toUnsignedByte(A) : 0xff; exitWhenZero = true; break;
+            case 0xf0:      // BEQ
+                mask = bit ? toUnsignedByte(A) : 0xff; exitWhenZero = false; break;
+            case 0x10:      // BPL
+                mask = 0x80; exitWhenZero = false; break;
+            case 0x30:      // BMI
+                mask = 0x80; exitWhenZero = true; break;
+            case 0x50:      // BVC
+                if (!bit) return false;
+                mask = 0x40; exitWhenZero = false; break;
+            case 0x70:      // BVS
+                if (!bit) return false;
+                mask = 0x40; exitWhenZero = true; break;
+            default:
+                return false;
+        }
+        // The read happens on the last of the 4 cycles of the instruction. Period measured from the previous iteration
+        final int skip = idleLoopBus.idleLoopCycles(idleLoopAddress, 3, (int) (cycles - idleLoopCycle2), mask, exitWhenZero);
+        if (skip <= 0) return false;
+        idleLoopSkippedCycles += skip;
+        idleLoopPC1 = idleLoopPC2 = -1;
+        // This cycle is the first skipped one. The loop continues normally right after the last,
+        // and its first read overwrites the register and flags left stale by the skipped ones
+        currentInstruction = idleLoop;
+        remainingCycles = skip - 1;
+        return true;
+    }
+
     public void powerOn() {    // Initializes the CPU as if it were just powered on
         PC = 0;
         SP = STACK_INITIAL_SP;
@@ -354,34 +467,58 @@ public final class M6502 implements ClockDriven {
         bus.readByte(PC);                        // Worthless read, discard data. PC unchanged
     }                                            // TODO Make instructions call here
 
+    public int fetchOpcode() {
+        if (codeWindowBus != null && (PC >= codeWindowEnd || PC < codeWindowStart))
+            codeWindowBus.requestCodeWindow(PC, this);
+        final int opcode = toUnsignedByte(fetchCodeByte());
+        if (idleLoopBus != null) {
+            idleLoopPC2 = idleLoopPC1; idleLoopOpcode2 = idleLoopOpcode1; idleLoopCycle2 = idleLoopCycle1;
+            idleLoopPC1 = PC - 1; idleLoopOpcode1 = opcode; idleLoopCycle1 = cycles;
+        }
+        return opcode;
+    }
+
+    // Reads the byte at PC and increments PC
+    private byte fetchCodeByte() {
+        final int address = PC++;
+        if (address < codeWindowEnd && address >= codeWindowStart) {
+            final byte b = codeWindowBytes[address + codeWindowOffset];
+            codeWindowBus.codeWindowFetched(b);
+            return b;
+        }
+        return bus.readByte(address);
+    }
+
     public int fetchImmediateAddress() {        // No memory being read here!
         return PC++;
     }
 
     public int fetchRelativeAddress() {
-        int res = bus.readByte(PC++) + PC;    // PC should be get AFTER the increment and be added to the offset that was read
+        int res = fetchCodeByte() + PC;    // PC should be get AFTER the increment and be added to the offset that was read
         pageCrossed = (res & 0xff00) != (PC & 0xff00);        // TODO Implement additional bad reads
         return res;
     }
 
     public int fetchZeroPageAddress() {
-        return toUnsignedByte(bus.readByte(PC++));
+        return toUnsignedByte(fetchCodeByte());
     }
 
     public int fetchZeroPageXAddress() {
-        byte base = bus.readByte(PC++);
+        byte base = fetchCodeByte();
         bus.readByte(toUnsignedByte(base));        // Additional bad read, discard data
         return toUnsignedByte(base + X);        // Sum should wrap the byte and always be in range 00 - ff
     }
 
     public int fetchZeroPageYAddress() {
-        byte base = bus.readByte(PC++);
+        byte base = fetchCodeByte();
         bus.readByte(toUnsignedByte(base));        // Additional bad read, discard data
         return toUnsignedByte(base + Y);        // Sum should wrap the byte and always be in range 00 - ff
     }
 
     public int fetchAbsoluteAddress() {
-        return memoryReadWord((PC += 2) - 2);        // PC should be get BEFORE the double increment
+        final int address = toUnsignedByte(fetchCodeByte()) | (toUnsignedByte(fetchCodeByte()) << 8);    // LSB first
+        if (idleLoopBus != null) idleLoopAddress = address;
+        return address;
     }
 
     public int fetchAbsoluteXAddress() {
@@ -485,11 +622,16 @@ public final class M6502 implements ClockDriven {
                 ", SP: " + String.format("%02x", SP) +
                 ", PC: " + String.format("%04x", (int) PC) +
                 ", Flags: " + String.format("%08d", Integer.parseInt(Integer.toBinaryString(PS() & 0xff))) +
-                ", Instr: " + (currentInstruction != null ? currentInstruction.getClass().getSimpleName() : "none") +
+                ", Instr: " + (currentInstruction != null ? instructionName() : "none") +
                 ", RemCycles: " + remainingCycles;
         return str;
     }
 
+    private String instructionName() {
+        Instruction instruction = currentInstruction instanceof SwitchCore ? instructions[((SwitchCore) currentInstruction).opcode()] : currentInstruction;
+        return instruction.getClass().getSimpleName();
+    }
+
     public String printMemory(int fromAddress, int count) {
         StringBuilder str = new StringBuilder();
         for (int i = 0; i < count; i++)
@@ -511,7 +653,7 @@ public final class M6502 implements ClockDriven {
             res = Debugger.show(title, "PROCESSOR STATUS:\n\n" + printState() + "\n\n", new String[]{"Continue", trace ? "Stop Trace" : "Start Trace", "Abort"});
             if (res == 1) trace = !trace;
         } while (res != 0 && res != 2);
-        if (res == 2) ((Clock) Thread.currentThread()).terminate();
+        if (res == 2) Clock.current().terminate();
     }
 
     public M6502State saveState() {
@@ -557,6 +699,26 @@ public final class M6502 implements ClockDriven {
         remainingCycles = state.remainingCycles;
     }
 
+    // Stands for the iterations skipped in an idle loop. Does nothing
+    private static final class IdleLoop extends Instruction {
+
+        public static final long serialVersionUID = 1L;
+
+        public IdleLoop(M6502 cpu) {
+            super(cpu);
+        }
+
+        @Override
+        public int fetch() {
+            return 0;
+        }
+
+        @Override
+        public void execute() {
+        }
+
+    }
+
     // Used to save/load states
     public static class M6502State implements Serializable {
         public static final long serialVersionUID = 2L;
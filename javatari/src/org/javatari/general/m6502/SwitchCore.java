@@ -0,0 +1,672 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.general.m6502;
+
+// Alternate interpreter core. Decodes and executes every opcode through two switch statements
+// instead of dispatching to the Instruction objects table, avoiding megamorphic virtual calls.
+// Bus accesses, dummy reads and cycle counts are exactly the same as the Instruction classes,
+// and it is used as the current Instruction by the CPU, so RDY handling and savestates are unaffected.
+// Unlike the other Instructions, fetch() reads the opcode from the bus itself
+public final class SwitchCore extends Instruction {
+
+    public static final long serialVersionUID = 1L;
+    private int opcode;
+    private int ea;             // Effective address, branch/jump target or BRK parameter
+    private boolean branch;
+
+    public SwitchCore(M6502 cpu) {
+        super(cpu);
+    }
+
+    public int opcode() {
+        return opcode;
+    }
+
+    @Override
+    public int fetch() {
+        opcode = cpu.fetchOpcode();
+        switch (opcode) {
+            case 0x0A: case 0x18: case 0x1A: case 0x2A: case 0x38: case 0x3A: case 0x4A: case 0x58:
+            case 0x5A: case 0x6A: case 0x78: case 0x7A: case 0x88: case 0x8A: case 0x98: case 0x9A:
+            case 0xA8: case 0xAA: case 0xB8: case 0xBA: case 0xC8: case 0xCA: case 0xD8: case 0xDA:
+            case 0xE8: case 0xEA: case 0xF8: case 0xFA:
+                return 2;
+            case 0x08: case 0x48:
+                return 3;
+            case 0x28: case 0x68:
+                return 4;
+            case 0x40: case 0x60:
+                return 6;
+            case 0x09: case 0x29: case 0x49: case 0x69: case 0xA0: case 0xA2: case 0xA9: case 0xC0:
+            case 0xC9: case 0xE0: case 0xE9: case 0xEB:
+                ea = cpu.fetchImmediateAddress();
+                return 2;
+            case 0x20:
+                ea = cpu.fetchImmediateAddress();
+                return 6;
+            case 0x00:
+                ea = M6502.toUnsignedByte(cpu.bus.readByte(cpu.fetchImmediateAddress()));    // BRK parameter, acts like a dummy PC read and increment
+                return 7;
+            case 0x05: case 0x24: case 0x25: case 0x45: case 0x65: case 0x84: case 0x85: case 0x86:
+            case 0xA4: case 0xA5: case 0xA6: case 0xC4: case 0xC5: case 0xE4: case 0xE5:
+                ea = cpu.fetchZeroPageAddress();
+                return 3;
+            case 0x06: case 0x26: case 0x46: case 0x66: case 0xC6: case 0xE6:
+                ea = cpu.fetchZeroPageAddress();
+                return 5;
+            case 0x15: case 0x35: case 0x55: case 0x75: case 0x94: case 0x95: case 0xB4: case 0xB5:
+            case 0xD5: case 0xF5:
+                ea = cpu.fetchZeroPageXAddress();
+                return 4;
+            case 0x16: case 0x36: case 0x56: case 0x76: case 0xD6: case 0xF6:
+                ea = cpu.fetchZeroPageXAddress();
+                return 6;
+            case 0x96: case 0xB6:
+                ea = cpu.fetchZeroPageYAddress();
+                return 4;
+            case 0x4C:
+                ea = cpu.fetchAbsoluteAddress();
+                return 3;
+            case 0x0D: case 0x2C: case 0x2D: case 0x4D: case 0x6D: case 0x8C: case 0x8D: case 0x8E:
+            case 0xAC: case 0xAD: case 0xAE: case 0xCC: case 0xCD: case 0xEC: case 0xED:
+                ea = cpu.fetchAbsoluteAddress();
+                return 4;
+            case 0x0E: case 0x2E: case 0x4E: case 0x6E: case 0xCE: case 0xEE:
+                ea = cpu.fetchAbsoluteAddress();
+                return 6;
+            case 0x1D: case 0x3D: case 0x5D: case 0x7D: case 0xBC: case 0xBD: case 0xDD: case 0xFD:
+                ea = cpu.fetchAbsoluteXAddress();
+                return 4 + (cpu.pageCrossed ? 1 : 0);
+            case 0x9D:
+                ea = cpu.fetchAbsoluteXAddress();
+                return 5;
+            case 0x1E: case 0x3E: case 0x5E: case 0x7E: case 0xDE: case 0xFE:
+                ea = cpu.fetchAbsoluteXAddress();
+                return 7;
+            case 0x19: case 0x39: case 0x59: case 0x79: case 0xB9: case 0xBE: case 0xD9: case 0xF9:
+                ea = cpu.fetchAbsoluteYAddress();
+                return 4 + (cpu.pageCrossed ? 1 : 0);
+            case 0x99:
+                ea = cpu.fetchAbsoluteYAddress();
+                return 5;
+            case 0x6C:
+                ea = cpu.fetchIndirectAddress();
+                return 5;
+            case 0x01: case 0x21: case 0x41: case 0x61: case 0x81: case 0xA1: case 0xC1: case 0xE1:
+                ea = cpu.fetchIndirectXAddress();
+                return 6;
+            case 0x11: case 0x31: case 0x51: case 0x71: case 0xB1: case 0xD1: case 0xF1:
+                ea = cpu.fetchIndirectYAddress();
+                return 5 + (cpu.pageCrossed ? 1 : 0);
+            case 0x91:
+                ea = cpu.fetchIndirectYAddress();
+                return 6;
+            case 0x02: case 0x12: case 0x22: case 0x32: case 0x42: case 0x52: case 0x62: case 0x72:
+            case 0x92: case 0xB2: case 0xD2: case 0xF2:
+                undocumented();
+                return Integer.MAX_VALUE;
+            case 0x0B: case 0x2B: case 0x4B: case 0x6B: case 0x80: case 0x82: case 0x89: case 0x8B:
+            case 0xAB: case 0xC2: case 0xCB: case 0xE2:
+                undocumented();
+                ea = cpu.fetchImmediateAddress();
+                return 2;
+            case 0x04: case 0x44: case 0x64: case 0x87: case 0xA7:
+                undocumented();
+                ea = cpu.fetchZeroPageAddress();
+                return 3;
+            case 0x07: case 0x27: case 0x47: case 0x67: case 0xC7: case 0xE7:
+                undocumented();
+                ea = cpu.fetchZeroPageAddress();
+                return 5;
+            case 0x14: case 0x34: case 0x54: case 0x74: case 0xD4: case 0xF4:
+                undocumented();
+                ea = cpu.fetchZeroPageXAddress();
+                return 4;
+            case 0x17: case 0x37: case 0x57: case 0x77: case 0xD7: case 0xF7:
+                undocumented();
+                ea = cpu.fetchZeroPageXAddress();
+                return 6;
+            case 0x97: case 0xB7:
+                undocumented();
+                ea = cpu.fetchZeroPageYAddress();
+                return 4;
+            case 0x0C: case 0x8F: case 0xAF:
+                undocumented();
+                ea = cpu.fetchAbsoluteAddress();
+                return 4;
+            case 0x0F: case 0x2F: case 0x4F: case 0x6F: case 0xCF: case 0xEF:
+                undocumented();
+                ea = cpu.fetchAbsoluteAddress();
+                return 6;
+            case 0x1C: case 0x3C: case 0x5C: case 0x7C: case 0xDC: case 0xFC:
+                undocumented();
+                ea = cpu.fetchAbsoluteXAddress();
+                return 4 + (cpu.pageCrossed ? 1 : 0);
+            case 0x9C:
+                undocumented();
+                ea = cpu.fetchAbsoluteXAddress();
+                return 5;
+            case 0x1F: case 0x3F: case 0x5F: case 0x7F: case 0xDF: case 0xFF:
+                undocumented();
+                ea = cpu.fetchAbsoluteXAddress();
+                return 7;
+            case 0xBB: case 0xBF:
+                undocumented();
+                ea = cpu.fetchAbsoluteYAddress();
+                return 4 + (cpu.pageCrossed ? 1 : 0);
+            case 0x9B: case 0x9E: case 0x9F:
+                undocumented();
+                ea = cpu.fetchAbsoluteYAddress();
+                return 5;
+            case 0x1B: case 0x3B: case 0x5B: case 0x7B: case 0xDB: case 0xFB:
+                undocumented();
+                ea = cpu.fetchAbsoluteYAddress();
+                return 7;
+            case 0x83: case 0xA3:
+                undocumented();
+                ea = cpu.fetchIndirectXAddress();
+                return 6;
+            case 0x03: case 0x23: case 0x43: case 0x63: case 0xC3: case 0xE3:
+                undocumented();
+                ea = cpu.fetchIndirectXAddress();
+                return 8;
+            case 0xB3:
+                undocumented();
+                ea = cpu.fetchIndirectYAddress();
+                return 5 + (cpu.pageCrossed ? 1 : 0);
+            case 0x93:
+                undocumented();
+                ea = cpu.fetchIndirectYAddress();
+                return 6;
+            case 0x13: case 0x33: case 0x53: case 0x73: case 0xD3: case 0xF3:
+                undocumented();
+                ea = cpu.fetchIndirectYAddress();
+                return 8;
+            case 0x10: return fetchBranch(!cpu.NEGATIVE);
+            case 0x30: return fetchBranch(cpu.NEGATIVE);
+            case 0x50: return fetchBranch(!cpu.OVERFLOW);
+            case 0x70: return fetchBranch(cpu.OVERFLOW);
+            case 0x90: return fetchBranch(!cpu.CARRY);
+            case 0xB0: return fetchBranch(cpu.CARRY);
+            case 0xD0: return fetchBranch(!cpu.ZERO);
+            case 0xF0: return fetchBranch(cpu.ZERO);
+        }
+        throw new IllegalStateException("SwitchCore Invalid Opcode: " + opcode);
+    }
+
+    @Override
+    public void execute() {
+        switch (opcode) {
+            case 0x00:
+                brk();
+                return;
+            case 0x01: case 0x05: case 0x09: case 0x0D: case 0x11: case 0x15: case 0x19: case 0x1D:
+                ora();
+                return;
+            case 0x02: case 0x12: case 0x22: case 0x32: case 0x42: case 0x52: case 0x62: case 0x72:
+            case 0x92: case 0xB2: case 0xD2: case 0xF2:
+                kil();
+                return;
+            case 0x03: case 0x07: case 0x0F: case 0x13: case 0x17: case 0x1B: case 0x1F:
+                slo();
+                return;
+            case 0x04: case 0x0C: case 0x14: case 0x1C: case 0x34: case 0x3C: case 0x44: case 0x54:
+            case 0x5C: case 0x64: case 0x74: case 0x7C: case 0x80: case 0x82: case 0x89: case 0x8B:
+            case 0xC2: case 0xD4: case 0xDC: case 0xE2: case 0xF4: case 0xFC:
+                cpu.bus.readByte(ea);
+                return;
+            case 0x06: case 0x0E: case 0x16: case 0x1E:
+                asl();
+                return;
+            case 0x08:
+                cpu.pushByte(cpu.PS());
+                return;
+            case 0x0A:
+                aslAcc();
+                return;
+            case 0x0B: case 0x2B:
+                anc();
+                return;
+            case 0x10: case 0x30: case 0x50: case 0x70: case 0x90: case 0xB0: case 0xD0: case 0xF0:
+                if (branch) cpu.PC = ea;
+                return;
+            case 0x18:
+                cpu.CARRY = false;
+                return;
+            case 0x20:
+                jsr();
+                return;
+            case 0x21: case 0x25: case 0x29: case 0x2D: case 0x31: case 0x35: case 0x39: case 0x3D:
+                and();
+                return;
+            case 0x23: case 0x27: case 0x2F: case 0x33: case 0x37: case 0x3B: case 0x3F:
+                rla();
+                return;
+            case 0x24: case 0x2C:
+                bit();
+                return;
+            case 0x26: case 0x2E: case 0x36: case 0x3E:
+                rol();
+                return;
+            case 0x28:
+                plp();
+                return;
+            case 0x2A:
+                rolAcc();
+                return;
+            case 0x38:
+                cpu.CARRY = true;
+                return;
+            case 0x40:
+                rti();
+                return;
+            case 0x41: case 0x45: case 0x49: case 0x4D: case 0x51: case 0x55: case 0x59: case 0x5D:
+                eor();
+                return;
+            case 0x43: case 0x47: case 0x4F: case 0x53: case 0x57: case 0x5B: case 0x5F:
+                sre();
+                return;
+            case 0x46: case 0x4E: case 0x56: case 0x5E:
+                lsr();
+                return;
+            case 0x48:
+                cpu.pushByte(cpu.A);
+                return;
+            case 0x4A:
+                lsrAcc();
+                return;
+            case 0x4B:
+                asr();
+                return;
+            case 0x4C: case 0x6C:
+                cpu.PC = ea;
+                return;
+            case 0x58:
+                cpu.INTERRUPT_DISABLE = false;
+                return;
+            case 0x60:
+                rts();
+                return;
+            case 0x61: case 0x65: case 0x69: case 0x6D: case 0x71: case 0x75: case 0x79: case 0x7D:
+                adc(cpu.bus.readByte(ea));
+                return;
+            case 0x63: case 0x67: case 0x6F: case 0x73: case 0x77: case 0x7B: case 0x7F:
+                rra();
+                return;
+            case 0x66: case 0x6E: case 0x76: case 0x7E:
+                ror();
+                return;
+            case 0x68:
+                pla();
+                return;
+            case 0x6A:
+                rorAcc();
+                return;
+            case 0x6B:
+                arr();
+                return;
+            case 0x78:
+                cpu.INTERRUPT_DISABLE = true;
+                return;
+            case 0x81: case 0x85: case 0x8D: case 0x91: case 0x95: case 0x99: case 0x9D:
+                cpu.bus.writeByte(ea, cpu.A);
+                return;
+            case 0x83: case 0x87: case 0x8F: case 0x97:
+                cpu.bus.writeByte(ea, (byte) (cpu.A & cpu.X));
+                return;
+            case 0x84: case 0x8C: case 0x94:
+                cpu.bus.writeByte(ea, cpu.Y);
+                return;
+            case 0x86: case 0x8E: case 0x96:
+                cpu.bus.writeByte(ea, cpu.X);
+                return;
+            case 0x88:
+                cpu.Y = nz((byte) (cpu.Y - 1));
+                return;
+            case 0x8A:
+                cpu.A = nz(cpu.X);
+                return;
+            case 0x93: case 0x9F:
+                sha();
+                return;
+            case 0x98:
+                cpu.A = nz(cpu.Y);
+                return;
+            case 0x9A:
+                cpu.SP = cpu.X;
+                return;
+            case 0x9B:
+                shs();
+                return;
+            case 0x9C:
+                cpu.bus.writeByte(ea, (byte) (cpu.Y & (byte) (((ea >>> 8) & 0xff) + 1)));
+                return;
+            case 0x9E:
+                cpu.bus.writeByte(ea, (byte) (cpu.X & (byte) (((ea >>> 8) & 0xff) + 1)));
+                return;
+            case 0xA0: case 0xA4: case 0xAC: case 0xB4: case 0xBC:
+                cpu.Y = load();
+                return;
+            case 0xA1: case 0xA5: case 0xA9: case 0xAD: case 0xB1: case 0xB5: case 0xB9: case 0xBD:
+                cpu.A = load();
+                return;
+            case 0xA2: case 0xA6: case 0xAE: case 0xB6: case 0xBE:
+                cpu.X = load();
+                return;
+            case 0xA3: case 0xA7: case 0xAF: case 0xB3: case 0xB7: case 0xBF:
+                lax();
+                return;
+            case 0xA8:
+                cpu.Y = nz(cpu.A);
+                return;
+            case 0xAA:
+                cpu.X = nz(cpu.A);
+                return;
+            case 0xAB:
+                lxa();
+                return;
+            case 0xB8:
+                cpu.OVERFLOW = false;
+                return;
+            case 0xBA:
+                cpu.X = nz(cpu.SP);
+                return;
+            case 0xBB:
+                las();
+                return;
+            case 0xC0: case 0xC4: case 0xCC:
+                compare(cpu.Y);
+                return;
+            case 0xC1: case 0xC5: case 0xC9: case 0xCD: case 0xD1: case 0xD5: case 0xD9: case 0xDD:
+                compare(cpu.A);
+                return;
+            case 0xC3: case 0xC7: case 0xCF: case 0xD3: case 0xD7: case 0xDB: case 0xDF:
+                dcp();
+                return;
+            case 0xC6: case 0xCE: case 0xD6: case 0xDE:
+                dec();
+                return;
+            case 0xC8:
+                cpu.Y = nz((byte) (cpu.Y + 1));
+                return;
+            case 0xCA:
+                cpu.X = nz((byte) (cpu.X - 1));
+                return;
+            case 0xCB:
+                sbx();
+                return;
+            case 0xD8:
+                cpu.DECIMAL_MODE = false;
+                return;
+            case 0xE0: case 0xE4: case 0xEC:
+                compare(cpu.X);
+                return;
+            case 0xE1: case 0xE5: case 0xE9: case 0xEB: case 0xED: case 0xF1: case 0xF5: case 0xF9:
+            case 0xFD:
+                sbc(cpu.bus.readByte(ea));
+                return;
+            case 0xE3: case 0xE7: case 0xEF: case 0xF3: case 0xF7: case 0xFB: case 0xFF:
+                isb();
+                return;
+            case 0xE6: case 0xEE: case 0xF6: case 0xFE:
+                inc();
+                return;
+            case 0xE8:
+                cpu.X = nz((byte) (cpu.X + 1));
+                return;
+            case 0xF8:
+                cpu.DECIMAL_MODE = true;
+                return;
+            case 0x1A: case 0x3A: case 0x5A: case 0x7A: case 0xDA: case 0xEA: case 0xFA:
+                return;
+        }
+    }
+
+    private int fetchBranch(boolean cond) {
+        ea = cpu.fetchRelativeAddress();        // Reads operand regardless of the branch being taken or not
+        branch = cond;
+        return branch ? (cpu.pageCrossed ? 4 : 3) : 2;
+    }
+
+    private void undocumented() {
+        if (!cpu.debug) return;
+        String name = cpu.instructions[opcode].getClass().getSimpleName().substring(1);
+        if (name.equals("NOP")) name = "DOP";
+        else if (name.equals("KIL")) name = "KIL/HLT/JAM";
+        cpu.debug(">>> Undocumented opcode " + name);
+    }
+
+    private byte nz(byte val) {
+        cpu.ZERO = val == 0;
+        cpu.NEGATIVE = val < 0;
+        return val;
+    }
+
+    private byte load() {
+        return nz(cpu.bus.readByte(ea));
+    }
+
+    private void compare(byte reg) {
+        ArithmeticTables.compare(cpu, reg, cpu.bus.readByte(ea));
+    }
+
+    private void ora() {
+        cpu.A = nz((byte) (cpu.A | cpu.bus.readByte(ea)));
+    }
+
+    private void and() {
+        cpu.A = nz((byte) (cpu.A & cpu.bus.readByte(ea)));
+    }
+
+    private void eor() {
+        cpu.A = nz((byte) (cpu.A ^ cpu.bus.readByte(ea)));
+    }
+
+    private void bit() {
+        final byte val = cpu.bus.readByte(ea);
+        cpu.ZERO = (val & cpu.A) == 0;
+        cpu.OVERFLOW = (val & 0x40) != 0;        // value of bit 6 from memory
+        cpu.NEGATIVE = (val & 0x80) != 0;        // value of bit 7 from memory
+    }
+
+    private void adc(byte b) {
+        ArithmeticTables.adc(cpu, b);
+    }
+
+    private void sbc(byte b) {
+        ArithmeticTables.sbc(cpu, b);
+    }
+
+    private void aslAcc() {
+        cpu.CARRY = cpu.A < 0;        // bit 7 was set
+        cpu.A = nz((byte) (cpu.A << 1));
+    }
+
+    private void lsrAcc() {
+        cpu.CARRY = (cpu.A & 0x01) != 0;        // bit 0 was set
+        cpu.A = (byte) ((cpu.A & 0xff) >>> 1);
+        cpu.ZERO = cpu.A == 0;
+        cpu.NEGATIVE = false;
+    }
+
+    private void rolAcc() {
+        final int oldCarry = cpu.CARRY ? 1 : 0;
+        cpu.CARRY = cpu.A < 0;        // bit 7 was set
+        cpu.A = nz((byte) ((cpu.A << 1) | oldCarry));
+    }
+
+    private void rorAcc() {
+        final int oldCarry = cpu.CARRY ? 0x80 : 0;
+        cpu.CARRY = (cpu.A & 0x01) != 0;        // bit 0 was set
+        cpu.A = nz((byte) (((cpu.A & 0xff) >>> 1) | oldCarry));
+    }
+
+    private byte asl() {
+        final byte val = cpu.bus.readByte(ea);
+        cpu.CARRY = val < 0;        // bit 7 was set
+        final byte res = nz((byte) (val << 1));
+        cpu.bus.writeByte(ea, res);
+        return res;
+    }
+
+    private byte lsr() {
+        final byte val = cpu.bus.readByte(ea);
+        cpu.CARRY = (val & 0x01) != 0;        // bit 0 was set
+        final byte res = (byte) ((val & 0xff) >>> 1);
+        cpu.ZERO = res == 0;
+        cpu.NEGATIVE = false;
+        cpu.bus.writeByte(ea, res);
+        return res;
+    }
+
+    private byte rol() {
+        final byte val = cpu.bus.readByte(ea);
+        final int oldCarry = cpu.CARRY ? 1 : 0;
+        cpu.CARRY = val < 0;        // bit 7 was set
+        final byte res = nz((byte) ((val << 1) | oldCarry));
+        cpu.bus.writeByte(ea, res);
+        return res;
+    }
+
+    private byte ror() {
+        final byte val = cpu.bus.readByte(ea);
+        final int oldCarry = cpu.CARRY ? 0x80 : 0;
+        cpu.CARRY = (val & 0x01) != 0;        // bit 0 was set
+        final byte res = nz((byte) (((val & 0xff) >>> 1) | oldCarry));
+        cpu.bus.writeByte(ea, res);
+        return res;
+    }
+
+    private byte inc() {
+        final byte val = nz((byte) (cpu.bus.readByte(ea) + 1));
+        cpu.bus.writeByte(ea, val);
+        return val;
+    }
+
+    private byte dec() {
+        final byte val = nz((byte) (cpu.bus.readByte(ea) - 1));
+        cpu.bus.writeByte(ea, val);
+        return val;
+    }
+
+    private void brk() {
+        cpu.debug(">>> BREAK: " + ea);
+        cpu.pushWord(cpu.PC);
+        cpu.pushByte(cpu.PS());
+        cpu.PC = cpu.memoryReadWord(M6502.IRQ_HANDLER_ADDRESS);
+    }
+
+    private void jsr() {
+        final byte PCL = cpu.bus.readByte(ea);
+        cpu.pushWord(cpu.PC);                // JSR should push the return address - 1
+        final byte PCH = cpu.bus.readByte(ea + 1);
+        cpu.PC = (M6502.toUnsignedByte(PCH) << 8) | M6502.toUnsignedByte(PCL);
+    }
+
+    private void rts() {
+        cpu.dummyStackRead();
+        cpu.PC = cpu.pullWord();
+        cpu.bus.readByte(cpu.PC++);        // Perform a dummy PC read before PC increment, discard data
+    }
+
+    private void rti() {
+        cpu.dummyStackRead();
+        cpu.PS(cpu.pullByte());
+        cpu.PC = cpu.pullWord();
+    }
+
+    private void pla() {
+        cpu.dummyStackRead();
+        cpu.A = nz(cpu.pullByte());
+    }
+
+    private void plp() {
+        cpu.dummyStackRead();
+        cpu.PS(cpu.pullByte());
+    }
+
+    // Undocumented
+
+    private void kil() {
+        // Forces the CPU to stay stuck in this instruction forever
+        if (cpu.PC == 0) cpu.PC = 0xffff;
+        else cpu.PC--;
+    }
+
+    private void slo() {
+        cpu.A = nz((byte) (cpu.A | asl()));
+    }
+
+    private void rla() {
+        final byte val = rol();
+        cpu.A = (byte) (cpu.A & val);
+        nz(val);            // Flags from val, as in the uRLA Instruction
+    }
+
+    private void sre() {
+        cpu.A = nz((byte) (cpu.A ^ lsr()));
+    }
+
+    private void rra() {
+        adc(ror());
+    }
+
+    private void dcp() {
+        final byte val = (byte) (cpu.bus.readByte(ea) - 1);
+        cpu.bus.writeByte(ea, val);
+        ArithmeticTables.compare(cpu, cpu.A, val);
+    }
+
+    private void isb() {
+        final byte val = (byte) (cpu.bus.readByte(ea) + 1);
+        cpu.bus.writeByte(ea, val);
+        sbc(val);
+    }
+
+    private void anc() {
+        cpu.A = nz((byte) (cpu.A & cpu.bus.readByte(ea)));
+        cpu.CARRY = cpu.NEGATIVE;
+    }
+
+    private void asr() {
+        final byte val = (byte) (cpu.A & cpu.bus.readByte(ea));
+        cpu.CARRY = (val & 0x01) > 0;        // bit 0 was set
+        cpu.A = (byte) ((val & 0xff) >>> 1);
+        cpu.ZERO = cpu.A == 0;
+        cpu.NEGATIVE = false;
+    }
+
+    private void arr() {
+        final byte val = (byte) (cpu.A & cpu.bus.readByte(ea));
+        cpu.A = nz((byte) (((val & 0xff) >>> 1) | (cpu.CARRY ? 0x80 : 0)));
+        final int comp = cpu.A & 0x60;
+        cpu.CARRY = (comp & 0x40) != 0;
+        cpu.OVERFLOW = comp == 0x20 || comp == 0x40;
+    }
+
+    private void lax() {
+        cpu.A = cpu.X = load();
+    }
+
+    private void lxa() {
+        cpu.A = cpu.X = nz((byte) (cpu.A & cpu.bus.readByte(ea)));
+    }
+
+    private void las() {
+        cpu.A = cpu.X = cpu.SP = nz((byte) (cpu.SP & cpu.bus.readByte(ea)));
+    }
+
+    private void sbx() {
+        cpu.X = ArithmeticTables.compare(cpu, (byte) (cpu.A & cpu.X), cpu.bus.readByte(ea));
+    }
+
+    private void sha() {
+        cpu.bus.writeByte(ea, (byte) (cpu.A & cpu.X & (byte) (((ea >>> 8) & 0xff) + 1)));    // A & X & (High byte of address + 1) !!!
+    }
+
+    private void shs() {
+        cpu.SP = (byte) (cpu.A & cpu.X);
+        cpu.bus.writeByte(ea, (byte) (cpu.SP & (byte) (((ea >>> 8) & 0xff) + 1)));       // SP & (High byte of address + 1) !!!
+    }
+
+}
@@ -2,6 +2,7 @@
 
 package org.javatari.general.m6502.instructions;
 
+import org.javatari.general.m6502.ArithmeticTables;
 import org.javatari.general.m6502.Instruction;
 import org.javatari.general.m6502.M6502;
 import org.javatari.general.m6502.OperandType;
@@ -59,15 +60,12 @@ public final class CPx extends Instruction {
 
     @Override
     public void execute() {
-        int uVal = M6502.toUnsignedByte(cpu.bus.readByte(ea));
-        int uR;
-        if (reg == Register.rA) uR = M6502.toUnsignedByte(cpu.A);
-        else if (reg == Register.rX) uR = M6502.toUnsignedByte(cpu.X);
-        else if (reg == Register.rY) uR = M6502.toUnsignedByte(cpu.Y);
+        final byte r;
+        if (reg == Register.rA) r = cpu.A;
+        else if (reg == Register.rX) r = cpu.X;
+        else if (reg == Register.rY) r = cpu.Y;
         else throw new IllegalStateException("CPx Invalid Register: " + reg);
-        cpu.CARRY = uR >= uVal;
-        cpu.ZERO = uR == uVal;
-        cpu.NEGATIVE = ((byte) (uR - uVal)) < 0;
+        ArithmeticTables.compare(cpu, r, cpu.bus.readByte(ea));
     }
 
 }
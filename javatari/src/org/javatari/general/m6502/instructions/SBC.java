@@ -2,6 +2,7 @@
 
 package org.javatari.general.m6502.instructions;
 
+import org.javatari.general.m6502.ArithmeticTables;
 import org.javatari.general.m6502.Instruction;
 import org.javatari.general.m6502.M6502;
 import org.javatari.general.m6502.OperandType;
@@ -56,34 +57,7 @@ public final class SBC extends Instruction {
 
     @Override
     public void execute() {
-        final int b = cpu.bus.readByte(ea);
-        final int uB = M6502.toUnsignedByte(b);
-        final int oldA = cpu.A;
-        final int uOldA = M6502.toUnsignedByte(oldA);
-
-        final boolean oldCarry = cpu.CARRY;
-        final int aux = oldA - b - (!oldCarry ? 1 : 0);
-        int uAux = uOldA - uB - (!oldCarry ? 1 : 0);
-
-        // Flags are affected always as in Binary mode
-        final byte newA = (byte) M6502.toUnsignedByte(uAux);        // Could be aux
-        cpu.ZERO = newA == 0;
-        cpu.NEGATIVE = newA < 0;
-        cpu.OVERFLOW = aux > 127 || aux < -128;
-        cpu.CARRY = !(uAux < 0);
-
-        // But the ACC is computed differently in Decimal Mode
-        if (!cpu.DECIMAL_MODE) {
-            cpu.A = newA;
-            return;
-        }
-
-        // Decimal Mode computations
-        uAux = (uOldA & 0x0f) - (uB & 0x0f) - (!oldCarry ? 1 : 0);
-        if (uAux < 0) uAux = ((uAux - 0x06) & 0x0f) - 0x10;
-        uAux = (uOldA & 0xf0) - (uB & 0xf0) + uAux;
-        if (uAux < 0) uAux -= 0x60;
-        cpu.A = (byte) M6502.toUnsignedByte(uAux);
+        ArithmeticTables.sbc(cpu, cpu.bus.readByte(ea));
     }
 
 }
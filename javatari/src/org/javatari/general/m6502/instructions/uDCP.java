@@ -2,6 +2,7 @@
 
 package org.javatari.general.m6502.instructions;
 
+import org.javatari.general.m6502.ArithmeticTables;
 import org.javatari.general.m6502.Instruction;
 import org.javatari.general.m6502.M6502;
 import org.javatari.general.m6502.OperandType;
@@ -57,11 +58,7 @@ public final class uDCP extends Instruction {
     public void execute() {
         final byte val = (byte) (cpu.bus.readByte(ea) - 1);
         cpu.bus.writeByte(ea, val);
-        int uVal = M6502.toUnsignedByte(val);
-        int uA = M6502.toUnsignedByte(cpu.A);
-        cpu.CARRY = uA >= uVal;
-        cpu.ZERO = uA == uVal;
-        cpu.NEGATIVE = ((byte) (uA - uVal)) < 0;
+        ArithmeticTables.compare(cpu, cpu.A, val);
     }
 
 }
@@ -2,6 +2,7 @@
 
 package org.javatari.general.m6502.instructions;
 
+import org.javatari.general.m6502.ArithmeticTables;
 import org.javatari.general.m6502.Instruction;
 import org.javatari.general.m6502.M6502;
 import org.javatari.general.m6502.OperandType;
@@ -59,33 +60,7 @@ public final class uISB extends Instruction {
         cpu.bus.writeByte(ea, val);
 
         // Same as SBC from here
-        final int uB = M6502.toUnsignedByte(val);
-        final int oldA = cpu.A;
-        final int uOldA = M6502.toUnsignedByte(oldA);
-
-        int oldCarryNot = cpu.CARRY ? 0 : 1;
-        final int aux = oldA - (int) val - oldCarryNot;
-        int uAux = uOldA - uB - oldCarryNot;
-
-        // Flags are affected always as in Binary mode
-        byte newA = (byte) M6502.toUnsignedByte(uAux);        // Could be aux
-        cpu.ZERO = newA == 0;
-        cpu.NEGATIVE = newA < 0;
-        cpu.OVERFLOW = aux > 127 || aux < -128;
-        cpu.CARRY = !(uAux < 0);
-
-        // But the ACC is computed differently in Decimal Mode
-        if (!cpu.DECIMAL_MODE) {
-            cpu.A = newA;
-            return;
-        }
-
-        // Decimal Mode computations
-        uAux = (uOldA & 0x0f) - (uB & 0x0f) - oldCarryNot;
-        if (uAux < 0) uAux = ((uAux - 0x06) & 0x0f) - 0x10;
-        uAux = (uOldA & 0xf0) - (uB & 0xf0) + uAux;
-        if (uAux < 0) uAux -= 0x60;
-        cpu.A = (byte) M6502.toUnsignedByte(uAux);
+        ArithmeticTables.sbc(cpu, val);
     }
 
 }
@@ -2,6 +2,7 @@
 
 package org.javatari.general.m6502.instructions;
 
+import org.javatari.general.m6502.ArithmeticTables;
 import org.javatari.general.m6502.Instruction;
 import org.javatari.general.m6502.M6502;
 
@@ -25,15 +26,7 @@ public final class uSBX extends Instruction {
 
     @Override
     public void execute() {
-        byte b = (byte) (cpu.A & cpu.X);
-        int uB = M6502.toUnsignedByte(b);
-        int uVal = M6502.toUnsignedByte(cpu.bus.readByte(ea));
-        byte newX = (byte) (uB - uVal);
-        cpu.X = newX;
-
-        cpu.CARRY = uB >= uVal;
-        cpu.ZERO = newX == 0;
-        cpu.NEGATIVE = newX < 0;
+        cpu.X = ArithmeticTables.compare(cpu, (byte) (cpu.A & cpu.X), cpu.bus.readByte(ea));
     }
 
 }
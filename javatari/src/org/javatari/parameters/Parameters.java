@@ -59,7 +59,10 @@ public final class Parameters {
     public static double TIA_FORCED_CLOCK = 0;                            //  0 = No Forced Clock
     public static boolean TIA_SYNC_WITH_AUDIO_MONITOR = false;
     public static boolean TIA_SYNC_WITH_VIDEO_MONITOR = false;
+    public static boolean TIA_EVENT_RENDERING = false;                    // Render runs of pixels between TIA events at once. Needs CPU_INSTRUCTION_STEP
+    public static boolean TIA_INDEXED_PIXELS = false;                    // Lines carry color table indexes instead of ARGB colors
     public static int TIA_AUDIO_SAMPLE_RATE = 31440;                    // A little less than TIA Scanline frequency * 2 = 31440
+    public static int TIA_AUDIO_OUTPUT_RATE = 0;                        // 0 = 8 bit samples at the rate above, else band limited 16 bit samples at this rate
     public static float TIA_AUDIO_MAX_AMPLITUDE = 0.5f;
     public static int TIA_AUDIO_SEND_CHUNK = 106;
     public static int TIA_AUDIO_MIN_MONITOR_BUFFER_CHUNKS = 7;
@@ -71,7 +74,19 @@ public final class Parameters {
     public static float RAM_FRY_VARIANCE = 0.3f;
     public static boolean BUS_DATA_RETENTION = true;
     public static float CONSOLE_ALTERNATE_CLOCK_FACTOR = 20;
+    public static int CONSOLE_CLOCK_PACING = 0;                        // 0 = Sleep, 1 = Park, 2 = Park and Spin
+    public static boolean CONSOLE_SINGLE_THREAD_CLOCKS = false;            // Console, Monitor and Speaker clocks pulsed by one Scheduler thread
+    public static boolean CONSOLE_AUDIO_CLOCK_PACING = false;            // Console clock speed follows the Speaker consumption
+    public static double CONSOLE_AUDIO_CLOCK_PACING_GAIN = 0.05;            // Speed trim for each full buffer of error in the Speaker level
+    public static double CONSOLE_AUDIO_CLOCK_PACING_INTEGRAL_GAIN = 0.0002; // Speed trim accumulated each frame for each full buffer of error
+    public static double CONSOLE_AUDIO_CLOCK_PACING_MAX_INTEGRAL = 0.005;    // Limit of the accumulated speed trim
+    public static double CONSOLE_AUDIO_CLOCK_PACING_MAX_TRIM = 0.05;        // Limit of the total speed trim, up or down
+    public static boolean CPU_SWITCH_DISPATCH = false;                    // Use the switch based CPU core instead of the Instruction objects
+    public static boolean CPU_INSTRUCTION_STEP = false;                    // Run whole CPU instructions at once, TIA and PIA catch up when accessed
+    public static boolean CPU_CODE_WINDOW = false;                        // Fetch code directly from static ROM areas, skipping the bus
+    public static boolean CPU_IDLE_LOOP_SKIP = false;                     // Skip iterations of tight loops polling the PIA timer
     public static double SCREEN_DEFAULT_FPS = -1;                        // 0 = External Synch, -1 = Auto FPS (On Demand)
+    public static int SCREEN_CLOCK_PACING = 0;                        // 0 = Sleep, 1 = Park, 2 = Park and Spin
     public static int SCREEN_BUFFER_VSYNC = -1;
     public static boolean SCREEN_BUFFER_SYNC_WAIT = false;
     public static int SCREEN_DEFAULT_ORIGIN_X = 68;
@@ -88,6 +103,8 @@ public final class Parameters {
     public static int SCREEN_CRT_MODE = 0;
     public static float SCREEN_CRT_RETENTION_ALPHA = 0.75f;
     public static float SCREEN_SCANLINES_STRENGTH = 0.5f;
+    public static int SCREEN_CRT_THREADS = -1;                        // -1 = Available processors
+    public static int SCREEN_UPSCALER_MODE = 0;                        // 0 = OFF, 1 = Scale2x, 2 = Scale3x, 3 = xBR-lite
     public static int SCREEN_MULTI_BUFFERING = 2;
     public static boolean SCREEN_PAGE_FLIPPING = true;
     public static boolean SCREEN_CONSOLE_PANEL = true;
@@ -100,6 +117,7 @@ public final class Parameters {
     public static boolean SCREEN_EMBEDDED_POPUP = true;
     public static boolean SCREEN_CARTRIDGE_CHANGE = true;
     public static double SPEAKER_DEFAULT_FPS = -1;                        // 0 = External Synch, -1 = Auto FPS (On Demand)
+    public static int SPEAKER_CLOCK_PACING = 0;                        // 0 = Sleep, 1 = Park, 2 = Park and Spin
     public static int SPEAKER_INPUT_BUFFER_SIZE = 1872;                // In frames (samples)
     public static int SPEAKER_OUTPUT_BUFFER_SIZE = 1248;                // In frames (samples)
     public static int SPEAKER_OUTPUT_BUFFER_FULL_SLEEP_TIME = 5;        // In milliseconds
@@ -445,6 +463,10 @@ public final class Parameters {
             if (val != null) TIA_SYNC_WITH_AUDIO_MONITOR = Boolean.parseBoolean(val);
             val = props.getProperty("TIA_SYNC_WITH_VIDEO_MONITOR");
             if (val != null) TIA_SYNC_WITH_VIDEO_MONITOR = Boolean.parseBoolean(val);
+            val = props.getProperty("TIA_EVENT_RENDERING");
+            if (val != null) TIA_EVENT_RENDERING = Boolean.parseBoolean(val);
+            val = props.getProperty("TIA_INDEXED_PIXELS");
+            if (val != null) TIA_INDEXED_PIXELS = Boolean.parseBoolean(val);
 
             val = props.getProperty("VIDEO_NTSC_FPS");
             if (val != null) VIDEO_NTSC_FPS = Double.parseDouble(val);
@@ -453,6 +475,8 @@ public final class Parameters {
 
             val = props.getProperty("TIA_AUDIO_SAMPLE_RATE");
             if (val != null) TIA_AUDIO_SAMPLE_RATE = Integer.parseInt(val);
+            val = props.getProperty("TIA_AUDIO_OUTPUT_RATE");
+            if (val != null) TIA_AUDIO_OUTPUT_RATE = Integer.parseInt(val);
             val = props.getProperty("TIA_AUDIO_MAX_AMPLITUDE");
             if (val != null) TIA_AUDIO_MAX_AMPLITUDE = Float.parseFloat(val);
             val = props.getProperty("TIA_AUDIO_SEND_CHUNK");
@@ -472,9 +496,33 @@ public final class Parameters {
             if (val != null) BUS_DATA_RETENTION = Boolean.parseBoolean(val);
             val = props.getProperty("CONSOLE_ALTERNATE_CLOCK_FACTOR");
             if (val != null) CONSOLE_ALTERNATE_CLOCK_FACTOR = Float.parseFloat(val);
+            val = props.getProperty("CONSOLE_CLOCK_PACING");
+            if (val != null) CONSOLE_CLOCK_PACING = parseClockPacing(val);
+            val = props.getProperty("CONSOLE_SINGLE_THREAD_CLOCKS");
+            if (val != null) CONSOLE_SINGLE_THREAD_CLOCKS = Boolean.parseBoolean(val);
+            val = props.getProperty("CONSOLE_AUDIO_CLOCK_PACING");
+            if (val != null) CONSOLE_AUDIO_CLOCK_PACING = Boolean.parseBoolean(val);
+            val = props.getProperty("CONSOLE_AUDIO_CLOCK_PACING_GAIN");
+            if (val != null) CONSOLE_AUDIO_CLOCK_PACING_GAIN = Double.parseDouble(val);
+            val = props.getProperty("CONSOLE_AUDIO_CLOCK_PACING_INTEGRAL_GAIN");
+            if (val != null) CONSOLE_AUDIO_CLOCK_PACING_INTEGRAL_GAIN = Double.parseDouble(val);
+            val = props.getProperty("CONSOLE_AUDIO_CLOCK_PACING_MAX_INTEGRAL");
+            if (val != null) CONSOLE_AUDIO_CLOCK_PACING_MAX_INTEGRAL = Double.parseDouble(val);
+            val = props.getProperty("CONSOLE_AUDIO_CLOCK_PACING_MAX_TRIM");
+            if (val != null) CONSOLE_AUDIO_CLOCK_PACING_MAX_TRIM = Double.parseDouble(val);
+            val = props.getProperty("CPU_SWITCH_DISPATCH");
+            if (val != null) CPU_SWITCH_DISPATCH = Boolean.parseBoolean(val);
+            val = props.getProperty("CPU_INSTRUCTION_STEP");
+            if (val != null) CPU_INSTRUCTION_STEP = Boolean.parseBoolean(val);
+            val = props.getProperty("CPU_CODE_WINDOW");
+            if (val != null) CPU_CODE_WINDOW = Boolean.parseBoolean(val);
+            val = props.getProperty("CPU_IDLE_LOOP_SKIP");
+            if (val != null) CPU_IDLE_LOOP_SKIP = Boolean.parseBoolean(val);
 
             val = props.getProperty("SCREEN_DEFAULT_FPS");
             if (val != null) SCREEN_DEFAULT_FPS = Double.parseDouble(val);
+            val = props.getProperty("SCREEN_CLOCK_PACING");
+            if (val != null) SCREEN_CLOCK_PACING = parseClockPacing(val);
             val = props.getProperty("SCREEN_BUFFER_VSYNC");
             if (val != null) SCREEN_BUFFER_VSYNC = Integer.parseInt(val);
             val = props.getProperty("SCREEN_BUFFER_SYNC_WAIT");
@@ -507,6 +555,10 @@ public final class Parameters {
             if (val != null) SCREEN_CRT_RETENTION_ALPHA = Float.parseFloat(val);
             val = props.getProperty("SCREEN_SCANLINES_STRENGTH");
             if (val != null) SCREEN_SCANLINES_STRENGTH = Float.parseFloat(val);
+            val = props.getProperty("SCREEN_CRT_THREADS");
+            if (val != null) SCREEN_CRT_THREADS = Integer.parseInt(val);
+            val = props.getProperty("SCREEN_UPSCALER_MODE");
+            if (val != null) SCREEN_UPSCALER_MODE = Integer.parseInt(val);
             val = props.getProperty("SCREEN_MULTI_BUFFERING");
             if (val != null) SCREEN_MULTI_BUFFERING = Integer.parseInt(val);
             val = props.getProperty("SCREEN_PAGE_FLIPPING");
@@ -532,6 +584,8 @@ public final class Parameters {
 
             val = props.getProperty("SPEAKER_DEFAULT_FPS");
             if (val != null) SPEAKER_DEFAULT_FPS = Double.parseDouble(val);
+            val = props.getProperty("SPEAKER_CLOCK_PACING");
+            if (val != null) SPEAKER_CLOCK_PACING = parseClockPacing(val);
             val = props.getProperty("SPEAKER_INPUT_BUFFER_SIZE");
             if (val != null) SPEAKER_INPUT_BUFFER_SIZE = Integer.parseInt(val);
             val = props.getProperty("SPEAKER_OUTPUT_BUFFER_SIZE");
@@ -579,6 +633,14 @@ public final class Parameters {
         }
     }
 
+    // Unknown pacing values fall back to Sleep
+    private static int parseClockPacing(String val) {
+        int pacing = Integer.parseInt(val);
+        if (pacing >= 0 && pacing <= 2) return pacing;
+        System.out.println("Invalid clock pacing: " + pacing + ", using Sleep");
+        return 0;
+    }
+
     public static void setCartridgeLabelColors(String colorsSpec) {
         try {
             String[] colors = colorsSpec.trim().split("\\s");
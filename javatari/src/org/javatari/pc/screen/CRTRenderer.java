@@ -0,0 +1,72 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.pc.screen;
+
+// Applies the CRT effects directly over the pixel rows of an image: triads simulate a TV display at the sub pixel level,
+// scanlines darken every other line. Rows are split in horizontal bands, rendered in parallel
+final class CRTRenderer {
+
+    private static final int MIN_BAND_HEIGHT = 32;
+
+    // Each triad sub pixel keeps only its channel, boosted to compensate for the others turned off
+    private static final int[] TRIAD_R = new int[256];
+    private static final int[] TRIAD_G = new int[256];
+    private static final int[] TRIAD_B = new int[256];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            double v = (double) c / 255;
+            int boosted = (int) ((v + Math.sin(v * Math.PI) / 9) * 255);
+            TRIAD_R[c] = 0xff000000 | boosted << 16;
+            TRIAD_G[c] = 0xff000000 | boosted << 8;
+            TRIAD_B[c] = 0xff000000 | boosted;
+        }
+    }
+
+    // Same as drawing black with the scanlines alpha over each channel
+    private final int[] scanline = new int[256];
+
+    CRTRenderer(float scanlinesStrength) {
+        int alpha = (int) (scanlinesStrength * 255);
+        for (int c = 0; c < 256; c++)
+            scanline[c] = (c * (255 - alpha) + 127) / 255;
+    }
+
+    // Effects are applied only to the odd rows, as the triads and scanlines are made every other line
+    // Rows from startY to endY are rendered, which must not have the effects applied yet
+    void render(int[] pixels, int stride, int width, int startY, int endY, boolean triads, boolean scanlines) {
+        if (!triads && !scanlines) return;
+        RowBands.render(endY - startY, MIN_BAND_HEIGHT,
+                (bandStartY, bandEndY) -> renderRows(pixels, stride, width, startY + bandStartY, startY + bandEndY, triads, scanlines));
+    }
+
+    private void renderRows(int[] pixels, int stride, int width, int startY, int endY, boolean triads, boolean scanlines) {
+        for (int y = startY | 1; y < endY; y += 2) {
+            int p = y * stride;
+            if (triads) renderTriads(pixels, p, width);
+            if (scanlines) renderScanline(pixels, p, width);
+        }
+    }
+
+    // Triads start at the fourth pixel. The last incomplete triad gets only its first sub pixels
+    private static void renderTriads(int[] pixels, int start, int width) {
+        int c;
+        for (c = 3; c < width - 2; c += 3) {
+            int p = start + c;
+            pixels[p] = TRIAD_R[(pixels[p] >> 16) & 0xff];
+            pixels[p + 1] = TRIAD_G[(pixels[p + 1] >> 8) & 0xff];
+            pixels[p + 2] = TRIAD_B[pixels[p + 2] & 0xff];
+        }
+        if (c < width) pixels[start + c] = TRIAD_R[(pixels[start + c] >> 16) & 0xff];
+        if (c < width - 1) pixels[start + c + 1] = TRIAD_G[(pixels[start + c + 1] >> 8) & 0xff];
+    }
+
+    private void renderScanline(int[] pixels, int start, int width) {
+        final int[] s = scanline;
+        for (int p = start, end = start + width; p < end; p++) {
+            int c = pixels[p];
+            pixels[p] = (c & 0xff000000) | s[(c >> 16) & 0xff] << 16 | s[(c >> 8) & 0xff] << 8 | s[c & 0xff];
+        }
+    }
+
+}
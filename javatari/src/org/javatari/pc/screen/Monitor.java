@@ -26,11 +26,16 @@ import java.awt.*;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.Transferable;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
 import java.io.File;
 import java.io.IOException;
 import java.security.AccessControlException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsertionListener {
 
@@ -41,8 +46,10 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
     static final float DEFAULT_SCALE_X = Parameters.SCREEN_DEFAULT_SCALE_X;
     static final float DEFAULT_SCALE_ASPECT_X = Parameters.SCREEN_DEFAULT_SCALE_ASPECT_X;
     private static final double DEFAULT_FPS = Parameters.SCREEN_DEFAULT_FPS;
+    private static final Clock.Pacing CLOCK_PACING = Clock.Pacing.values()[Parameters.SCREEN_CLOCK_PACING];
     private static final String[] crtModeNames = {"OFF", "Phosphor", "Phosphor Scanlines", "RGB", "RGB Phosphor"};
     private static final int EXTRA_UPPER_VSYNC_TOLERANCE = 5;
+    private static final int READY_NEW = 4;
     private static final int VSYNC_TOLERANCE = Parameters.SCREEN_VSYNC_TOLERANCE;
     private static final boolean BUFFER_SYNC_WAIT = Parameters.SCREEN_BUFFER_SYNC_WAIT;
     private static final int DEFAULT_ORIGIN_X = Parameters.SCREEN_DEFAULT_ORIGIN_X;
@@ -53,6 +60,7 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
     private static final int OSD_FRAMES = Parameters.SCREEN_OSD_FRAMES;
     private static final boolean CRT_FILTER = Parameters.SCREEN_CRT_FILTER;
     private static final int CRT_MODE = Parameters.SCREEN_CRT_MODE;
+    private static final int UPSCALER_MODE = Parameters.SCREEN_UPSCALER_MODE;
 
     private static final float CRT_RETENTION_ALPHA = Parameters.SCREEN_CRT_RETENTION_ALPHA;
     private static final float SCANLINES_STRENGTH = Parameters.SCREEN_SCANLINES_STRENGTH;
@@ -73,12 +81,27 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
     private VideoStandard signalStandard;
     private int signalWidth;
     private int signalHeight;
+    private volatile boolean signalAdjustPending = false;    // Signal size changed, display size and origin to fit it at the next refresh
     private VideoStandard videoStandardDetected;
     private int videoStandardDetectionFrameCount;
     private int videoStandardDetectionFrameLineCount = 0;
     private int videoStandardDetectionAdtLinesPerFrame = 0;
-    private int[] backBuffer;
-    private int[] frontBuffer;
+    // Lines are written directly into the frame images, which keep entire lines at their signal positions
+    // The back image belongs to the lines received, the front and previous front images to the display refresh
+    // The fourth image holds the last complete frame, and is exchanged atomically by each side without locking
+    private final BufferedImage[] frameImages = new BufferedImage[4];
+    private int[][] buffers;                       // Pixels of the frame images if ARGB
+    private int[] signalColors;                    // Color table of the signal pixels, or null if they are ARGB colors
+    private byte[][] indexBuffers;                 // Pixels of the frame images if the signal has a color table
+    private int[] indexColors;                     // Colors of the frame images if the signal has a color table
+    private int backBuffer = 0;
+    private int frontBuffer = 1;
+    private int previousFrontBuffer = 2;           // Drawn under the front image for CRT retention
+    private final AtomicInteger readyBuffer = new AtomicInteger(3);     // Plus READY_NEW when not yet displayed
+    // Hash of each line in each frame buffer, owned along with the buffer. 0 is never a hash, and marks unknown contents
+    private final long[][] lineHashes = new long[4][VideoStandard.PAL.height];
+    private long lastLineHash = 0;
+    private volatile boolean lineHashing = false;  // Lines are hashed only while the upscaler or the intermediate composition use the hashes
     private int displayWidth;
     private int displayHeight;
     private double displayHeightPct;
@@ -95,16 +118,23 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
     private JLabel osdComponent;
     private boolean crtFilter = CRT_FILTER;
     private int crtMode = Math.max(CRT_MODE, 0);
+    private int upscalerMode = 0;
+    private UpscaledFrames upscaledFrames;
+    private int frontSerial = 0;                   // Counts the frames taken for display, identifying upscaled frames
     private int debug = 0;
     private boolean showStats = false;
     private int line = 0;
-    private int frame = 0;
-    private int lastFrameRendered = -1;
+    private volatile int framesDropped = 0;        // Complete frames replaced before being displayed
+    private volatile int framesDuplicated = 0;     // Display refreshes with no new frame to show
     private MonitorDisplay display;
-    private BufferedImage frameImage;
     private BufferedImage scanlinesTextureImage;
-    private CRTTriadComposite crtTriadComposite;
+    private CRTRenderer crtRenderer;
     private BufferedImage intermFrameImage;
+    private int[] intermPixels;                    // Pixels of the intermediate image, for the CRT effects
+    private final int[] intermSettings = new int[8];     // Settings of the last composition in the intermediate image
+    private final long[][] intermLineHashes = new long[2][VideoStandard.PAL.height];   // Current and previous frame lines of the last composition
+    private final int[] intermBands = new int[VideoStandard.PAL.height + 2];          // Rows of the intermediate image to compose again, start and end pairs
+    private boolean intermOSD = false;             // If the last composition has an OSD painted over
     private Image logoIcon;
     private final Runnable refresher = this::refresh;
 
@@ -123,11 +153,13 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         adjustToVideoSignal();
     }
 
-    synchronized void setDisplay(MonitorDisplay monitorDisplay) {
-        display = monitorDisplay;
-        float scX = display.displayDefaultOpenningScaleX(displayWidth, displayHeight);
-        setDisplayScale(scX, scX / DEFAULT_SCALE_ASPECT_X);
-        displayCenter();
+    void setDisplay(MonitorDisplay monitorDisplay) {
+        synchronized (refreshMonitor) {
+            display = monitorDisplay;
+            float scX = display.displayDefaultOpenningScaleX(displayWidth, displayHeight);
+            setDisplayScale(scX, scX / DEFAULT_SCALE_ASPECT_X);
+            displayCenter();
+        }
     }
 
     boolean isFixedSize() {
@@ -152,8 +184,7 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
 
     public void powerOn() {
         synchronized (refreshMonitor) {
-            cleanFrontBuffer();
-            cleanBackBuffer();
+            cleanBuffers();
             powerOn = true;
             signalState(false);
             clock.go();
@@ -175,26 +206,62 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
     }
 
     @Override
-    // Synchronize to avoid changing the standard while receiving lines
-    public synchronized boolean nextLine(final int[] pixels, boolean vSynchSignal) {
+    // Lines come only from the emulation thread, which is also the only one changing the signal standard and colors
+    // Display side changes never hold locks taken here, so receiving lines never waits for them
+    public boolean nextLine(final int[] pixels, boolean repeated, boolean vSynchSignal) {
         // Adjusts to the new signal state (on or off) as necessary
-        if (!signalState(pixels != null))        // If signal is off, we are done
+        if (!signalState(pixels != null)) {        // If signal is off, we are done
+            lastLineHash = 0;
             return false;
+        }
         // Process new line received
         boolean vSynched = false;
         if (line < signalHeight) {
-            // Copy only contents that will be displayed
-            if (line >= displayOriginY && line < displayOriginY + displayHeight)
-                System.arraycopy(pixels, displayOriginX, backBuffer, (line - displayOriginY) * displayWidth, displayWidth);
-        } else
-            vSynched = maxLineExceeded();
+            // Copy the entire line, unless the back buffer already has it. Only the display area is drawn later
+            // Repeated lines are known to be the same as the last one, others are hashed only if someone uses the hashes
+            final long hash = repeated && lastLineHash != 0 ? lastLineHash : lineHashing ? lineHash(pixels, signalWidth) : 0;
+            lastLineHash = hash;
+            if (hash == 0 || lineHashes[backBuffer][line] != hash) {
+                if (signalColors == null)
+                    System.arraycopy(pixels, 0, buffers[backBuffer], line * VideoStandard.PAL.width, signalWidth);
+                else {
+                    final byte[] backIndexBuffer = indexBuffers[backBuffer];
+                    for (int i = 0, b = line * VideoStandard.PAL.width; i < signalWidth; i++, b++)
+                        backIndexBuffer[b] = (byte) pixels[i];
+                }
+                lineHashes[backBuffer][line] = hash;
+            }
+        } else {
+            lastLineHash = 0;
+            vSynched = maxLineExceeded(true);
+        }
+        return lineFinished(vSynchSignal, true) || vSynched;
+    }
+
+    private static long lineHash(int[] pixels, int width) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < width; i++)
+            hash = (hash ^ pixels[i]) * 0x100000001b3L;
+        return hash == 0 ? 1 : hash;
+    }
+
+    @Override
+    // Frames skipped keep the last frame rendered on display
+    public boolean skipLine(boolean vSynchSignal) {
+        signalState(true);
+        lastLineHash = 0;
+        boolean vSynched = line >= signalHeight && maxLineExceeded(false);
+        return lineFinished(vSynchSignal, false) || vSynched;
+    }
+
+    private boolean lineFinished(boolean vSynchSignal, boolean rendered) {
         line++;
         if (videoStandardDetected == null) videoStandardDetectionFrameLineCount++;
         if (vSynchSignal) {
             if (videoStandardDetected == null) videoStandardDetectionNewFrame();
-            vSynched = newFrame() || vSynched;
+            return newFrame(rendered);
         }
-        return vSynched;
+        return false;
     }
 
     @Override
@@ -231,7 +298,8 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
     public void clockPulse() {
         synchOutputInSwing();
         // If in "On Demand" mode (fps < 0) then just wait for the next frame to interrupt the sleep, but no more than 2 frames
-        if (fps < 0 && !Thread.interrupted()) try {
+        // The Scheduler already pulses on demand clocks after each frame, so never wait there
+        if (fps < 0 && !clock.scheduled() && !Thread.interrupted()) try {
             Thread.sleep(1000 / 60 * 2, 0);
         } catch (InterruptedException e) { /* Awake! */ }
     }
@@ -254,27 +322,31 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         else SwingHelper.edtInvokeLater(refresher);
     }
 
-    private boolean newFrame() {
+    private boolean newFrame(boolean rendered) {
         if (line < signalHeight - VSYNC_TOLERANCE) return false;
+        if (!rendered) {
+            line = 0;
+            return true;
+        }
 
-        // Flip front and back buffers
-        int[] aux = frontBuffer;
-        frontBuffer = backBuffer;
-        backBuffer = aux;
+        // Exchange the finished back buffer with the ready one. If the ready frame was never displayed, it is dropped
+        int previous = readyBuffer.getAndSet(backBuffer | READY_NEW);
+        if ((previous & READY_NEW) != 0) framesDropped++;
+        backBuffer = previous & ~READY_NEW;
 
         // Start a new frame
         if (debug > 0) cleanBackBuffer();
         if (showStats)
-            showOSD(videoSignal.standard() + "  " + line + " lines,  CRT mode: " + crtModeNames[crtMode], true);
+            showOSD(videoSignal.standard() + "  " + line + " lines,  CRT mode: " + crtModeNames[crtMode]
+                    + ",  Dropped: " + framesDropped + ",  Duplicated: " + framesDuplicated, true);
         line = 0;
-        frame++;
         return true;
     }
 
-    private boolean maxLineExceeded() {
+    private boolean maxLineExceeded(boolean rendered) {
         if (line > signalHeight + VSYNC_TOLERANCE + EXTRA_UPPER_VSYNC_TOLERANCE) {
             // if (debug > 0) System.out.println("Display maximum scanlines exceeded: " + line);
-            return newFrame();
+            return newFrame(rendered);
         }
         return false;
     }
@@ -290,13 +362,19 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         return state;
     }
 
-    private void cleanFrontBuffer() {
-        Arrays.fill(frontBuffer, Color.BLACK.getRGB());
+    private void cleanBuffers() {
+        for (int i = 0; i < frameImages.length; i++) {
+            if (signalColors == null) Arrays.fill(buffers[i], Color.BLACK.getRGB());
+            else Arrays.fill(indexBuffers[i], (byte) signalColors.length);
+            Arrays.fill(lineHashes[i], 0);
+        }
     }
 
     private void cleanBackBuffer() {
         // If in debug mode, put a nice green for detection of undrawn lines
-        Arrays.fill(backBuffer, debug > 0 ? Color.GREEN.getRGB() : Color.BLACK.getRGB());
+        if (signalColors == null) Arrays.fill(buffers[backBuffer], debug > 0 ? Color.GREEN.getRGB() : Color.BLACK.getRGB());
+        else Arrays.fill(indexBuffers[backBuffer], (byte) (signalColors.length + (debug > 0 ? 1 : 0)));
+        Arrays.fill(lineHashes[backBuffer], 0);
     }
 
     private void videoStandardDetectionNewFrame() {
@@ -362,16 +440,15 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         prepareResources();
         adjustToVideoStandard(VideoStandard.NTSC);
         setDisplayDefaultSize();
-        clock = new Clock("Video Monitor", this, fps);
+        setUpscalerMode(UPSCALER_MODE);
+        clock = new Clock("Video Monitor", this, fps, CLOCK_PACING);
+        clock.onDemand(fps < 0);
         paintLogo();
     }
 
     private void prepareResources() {
-        // Prepare Buffers and FrameImage with maximum possible sizes (PAL)
-        backBuffer = new int[VideoStandard.PAL.width * VideoStandard.PAL.height];
-        frontBuffer = new int[VideoStandard.PAL.width * VideoStandard.PAL.height];
-        frameImage = new BufferedImage(VideoStandard.PAL.width, VideoStandard.PAL.height, BufferedImage.TYPE_INT_ARGB);
-        if (FRAME_ACCELERATION >= 0) frameImage.setAccelerationPriority(FRAME_ACCELERATION);
+        // Prepare FrameImages with maximum possible sizes (PAL)
+        createFrameImages(null);
         // Prepare the Logo image
         try {
             logoIcon = SwingHelper.loadAsCompatibleImage("org/javatari/pc/screen/images/Logo.png");
@@ -393,29 +470,69 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
             g.drawLine(0, i, scanlinesTextureImage.getWidth(), i);
         g.dispose();
         if (SCANLINES_ACCELERATION >= 0) scanlinesTextureImage.setAccelerationPriority(SCANLINES_ACCELERATION);
-        // Prepare CRT mode 3 and 4 composition
-        crtTriadComposite = new CRTTriadComposite();
+        // Prepare CRT mode 2, 3 and 4 effects over the intermediate image
+        crtRenderer = new CRTRenderer(SCANLINES_STRENGTH);
         // Prepare intermediate image for CRT modes or OSD rendering in SingleBuffer mode
         intermFrameImage = new BufferedImage(2048, 1280, BufferedImage.TYPE_INT_RGB);
+        intermPixels = ((DataBufferInt) intermFrameImage.getRaster().getDataBuffer()).getData();
         if (IMTERM_FRAME_ACCELERATION >= 0) intermFrameImage.setAccelerationPriority(IMTERM_FRAME_ACCELERATION);
     }
 
     private void adjustToVideoSignal() {
         if (signalStandard != videoSignal.standard())
             adjustToVideoStandard(videoSignal.standard());
+        if (signalColors != videoSignal.colors())
+            adjustToSignalColors(videoSignal.colors());
     }
 
-    // Synchronize to avoid changing the standard while refreshing frame or receiving lines
-    private synchronized void adjustToVideoStandard(VideoStandard videoStandard) {
+    // With a color table, frames keep one byte per pixel and are converted to ARGB only when drawn
+    // Black and green for buffer cleaning are added after the signal colors
+    // Replacing the frame images excludes the refresh. Only happens when the signal color table changes
+    private void adjustToSignalColors(int[] colors) {
         synchronized (refreshMonitor) {
-            signalStandard = videoStandard;
-            signalWidth = videoStandard.width;
-            signalHeight = videoStandard.height;
-            setDisplaySize(displayWidth, displayHeightPct);
-            setDisplayOrigin(displayOriginX, displayOriginYPct);
+            signalColors = colors;
+            if (colors == null) {
+                indexColors = null;
+                createFrameImages(null);
+            } else {
+                indexColors = Arrays.copyOf(colors, colors.length + 2);
+                indexColors[colors.length] = Color.BLACK.getRGB();
+                indexColors[colors.length + 1] = Color.GREEN.getRGB();
+                createFrameImages(new IndexColorModel(8, indexColors.length, indexColors, 0, true, -1, DataBuffer.TYPE_BYTE));
+            }
+            cleanBuffers();
+        }
+    }
+
+    private void createFrameImages(IndexColorModel colorModel) {
+        buffers = colorModel == null ? new int[frameImages.length][] : null;
+        indexBuffers = colorModel == null ? null : new byte[frameImages.length][];
+        for (int i = 0; i < frameImages.length; i++) {
+            if (colorModel == null) {
+                frameImages[i] = new BufferedImage(VideoStandard.PAL.width, VideoStandard.PAL.height, BufferedImage.TYPE_INT_ARGB);
+                buffers[i] = ((DataBufferInt) frameImages[i].getRaster().getDataBuffer()).getData();
+            } else {
+                frameImages[i] = new BufferedImage(VideoStandard.PAL.width, VideoStandard.PAL.height, BufferedImage.TYPE_BYTE_INDEXED, colorModel);
+                indexBuffers[i] = ((DataBufferByte) frameImages[i].getRaster().getDataBuffer()).getData();
+            }
+            if (FRAME_ACCELERATION >= 0) frameImages[i].setAccelerationPriority(FRAME_ACCELERATION);
         }
     }
 
+    // Changes only the signal size used when receiving lines. The display size and origin are fit to it on the display side
+    private void adjustToVideoStandard(VideoStandard videoStandard) {
+        signalStandard = videoStandard;
+        signalWidth = videoStandard.width;
+        signalHeight = videoStandard.height;
+        signalAdjustPending = true;
+    }
+
+    private void applySignalAdjust() {
+        if (!signalAdjustPending) return;
+        signalAdjustPending = false;
+        setDisplaySize(displayWidth, displayHeightPct);
+    }
+
     private void adjustToVideoSignalOff() {
         line = 0;
         display.displayClear();
@@ -429,6 +546,7 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
 
     private void paintLogo() {
         synchronized (refreshMonitor) {
+            applySignalAdjust();
             Graphics2D canvasGraphics = displayGraphics();
             if (canvasGraphics == null) return;
             Dimension ces = display.displayEffectiveSize();
@@ -469,39 +587,49 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         }
         // Synchronize to avoid changing image properties while refreshing frame
         synchronized (refreshMonitor) {
-            int f = frame;
-            if (lastFrameRendered == f) return;
-
-            int[] drawBuffer = frontBuffer;
+            applySignalAdjust();
+            if ((readyBuffer.get() & READY_NEW) == 0) {
+                framesDuplicated++;
+                return;
+            }
             Graphics2D displayGraphics = displayGraphics();
             if (displayGraphics == null) return;
+
+            // Take the last complete frame, leaving the oldest buffer to receive the next ones
+            int ready = readyBuffer.getAndSet(previousFrontBuffer) & ~READY_NEW;
+            previousFrontBuffer = frontBuffer;
+            frontBuffer = ready;
+            frontSerial++;
             // Get the entire Canvas
             Dimension ces = display.displayEffectiveSize();
             int displayEffectiveWidth = ces.width;
             int displayEffectiveHeight = ces.height;
             // CRT mode 3 OR no MultiBuffering active and needs to superimpose (CRT mode 1, 2 or OSD)
             // draw frameImage to intermediate image with composite then transfer to Canvas
-            if (crtMode >= 3 || (MULTI_BUFFERING < 2 && (osdFramesLeft >= 0 || crtMode > 0))) {
+            boolean interm = crtMode >= 3 || (MULTI_BUFFERING < 2 && (osdFramesLeft >= 0 || crtMode > 0));
+            lineHashing = interm || upscalerMode > 0;
+            if (interm) {
                 int intermWidth = Math.min(displayEffectiveWidth, 2048);
                 int intermHeight = Math.min(displayEffectiveHeight, 1280);
-                Graphics2D intermGraphics = intermFrameImage.createGraphics();
-                intermGraphics.setComposite(AlphaComposite.Src);
-                // Renders to intermediate image
-                renderFrame(intermGraphics, drawBuffer, intermWidth, intermHeight);
-                // If CRT mode 2, alpha-superimpose the prepared scanlines image
-                if (crtMode == 2)
-                    renderScanlines(intermGraphics, intermWidth, intermHeight);
-                // If CRT mode 3 or 4, sets the CRTTriadComposite and rewrite
-                if (crtMode >= 3) {
-                    intermGraphics.setComposite(crtTriadComposite);
-                    intermGraphics.drawImage(
-                            intermFrameImage,
-                            0, 0, intermWidth, intermHeight,
-                            0, 0, intermWidth, intermHeight,
-                            null);
+                // Compose again only the rows whose result would change: showing lines that changed, or all if settings changed or there is an OSD
+                int bands = intermDirtyBands(intermWidth, intermHeight);
+                if (bands > 0) {
+                    Graphics2D intermGraphics = intermFrameImage.createGraphics();
+                    intermGraphics.setComposite(AlphaComposite.Src);
+                    for (int b = 0; b < bands; b += 2) {
+                        int startY = intermBands[b], endY = intermBands[b + 1];
+                        // Renders to intermediate image, clipped to the rows of the band
+                        intermGraphics.setClip(0, startY, intermWidth, endY - startY);
+                        renderFrame(intermGraphics, intermWidth, intermHeight);
+                        // If CRT mode 2 darken scanlines, if CRT mode 3 or 4 make triads, directly over the intermediate image pixels
+                        if (crtMode >= 2)
+                            crtRenderer.render(intermPixels, intermFrameImage.getWidth(), intermWidth, startY, endY, crtMode >= 3, crtMode == 2);
+                    }
+                    intermGraphics.setClip(null);
+                    intermOSD = osdFramesLeft > 0;
+                    paintOSD(intermGraphics);
+                    intermGraphics.dispose();
                 }
-                paintOSD(intermGraphics);
-                intermGraphics.dispose();
                 // Then transfer to Canvas
                 displayGraphics.drawImage(
                         intermFrameImage,
@@ -510,18 +638,55 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
                         null);
             } else {
                 // Renders directly to Canvas
-                renderFrame(displayGraphics, drawBuffer, displayEffectiveWidth, displayEffectiveHeight);
+                renderFrame(displayGraphics, displayEffectiveWidth, displayEffectiveHeight);
                 // If CRT mode 2, alpha-superimpose the prepared scanlines image
                 if (crtMode == 2)
                     renderScanlines(displayGraphics, displayEffectiveWidth, displayEffectiveHeight);
                 paintOSD(displayGraphics);
             }
             displayFrameFinished(displayGraphics);
-            lastFrameRendered = f;
         }
     }
 
-    private void renderFrame(Graphics2D graphics, int[] drawBuffer, int effectiveWidth, int effectiveHeight) {
+    // Fills the bands of intermediate image rows showing display lines different from the last composition, returning
+    // the number of band limits. With CRT retention, lines of the previous frame also count. Everything is composed
+    // again if settings changed or there is an OSD. Bands extend around by the neighbor lines upscalers read
+    private int intermDirtyBands(int intermWidth, int intermHeight) {
+        final int[] s = intermSettings;
+        boolean sameSettings = s[0] == intermWidth && s[1] == intermHeight && s[2] == crtMode && s[3] == upscalerMode
+                && s[4] == displayOriginX && s[5] == displayOriginY && s[6] == displayWidth && s[7] == displayHeight;
+        if (!sameSettings) {
+            s[0] = intermWidth; s[1] = intermHeight; s[2] = crtMode; s[3] = upscalerMode;
+            s[4] = displayOriginX; s[5] = displayOriginY; s[6] = displayWidth; s[7] = displayHeight;
+        }
+        final boolean all = !sameSettings || osdFramesLeft >= 0 || intermOSD;
+        final boolean retention = crtMode > 0 && crtMode != 3;
+        final long[] current = lineHashes[frontBuffer], previous = lineHashes[previousFrontBuffer];
+        final long[] composedCurrent = intermLineHashes[0], composedPrevious = intermLineHashes[1];
+        int bands = 0, runStart = -1;
+        for (int i = 0; i <= displayHeight; i++) {
+            final int y = displayOriginY + i;
+            if (i < displayHeight && (all || current[y] == 0 || current[y] != composedCurrent[y]
+                    || (retention && (previous[y] == 0 || previous[y] != composedPrevious[y])))) {
+                if (runStart < 0) runStart = i;
+                continue;
+            }
+            if (runStart < 0) continue;
+            final int startY = Math.max(runStart - Upscaler.BORDER, 0) * intermHeight / displayHeight;
+            final int endY = (Math.min(i + Upscaler.BORDER, displayHeight) * intermHeight + displayHeight - 1) / displayHeight;
+            if (bands > 0 && startY <= intermBands[bands - 1]) intermBands[bands - 1] = endY;
+            else {
+                intermBands[bands++] = startY;
+                intermBands[bands++] = endY;
+            }
+            runStart = -1;
+        }
+        System.arraycopy(current, displayOriginY, composedCurrent, displayOriginY, displayHeight);
+        System.arraycopy(previous, displayOriginY, composedPrevious, displayOriginY, displayHeight);
+        return bands;
+    }
+
+    private void renderFrame(Graphics2D graphics, int effectiveWidth, int effectiveHeight) {
         // If CRT mode 1, 2 or 4, set composite for last and new frame over each other, and draw old frame
         if (crtMode > 0 && crtMode != 3) {
             // Clear last image
@@ -529,12 +694,25 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
             graphics.clearRect(0, 0, effectiveWidth, effectiveHeight);
             // Draw old frame
             graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, CRT_RETENTION_ALPHA));
-            graphics.drawImage(frameImage, 0, 0, effectiveWidth, effectiveHeight, 0, 0, displayWidth, displayHeight, null);
+            drawFrameImage(graphics, previousFrontBuffer, frontSerial - 1, effectiveWidth, effectiveHeight);
         }
-        // Update the image to draw with contents stored in the frontBuffer
-        frameImage.getRaster().setDataElements(0, 0, displayWidth, displayHeight, drawBuffer);
         // Draw new frame
-        graphics.drawImage(frameImage, 0, 0, effectiveWidth, effectiveHeight, 0, 0, displayWidth, displayHeight, null);
+        drawFrameImage(graphics, frontBuffer, frontSerial, effectiveWidth, effectiveHeight);
+    }
+
+    // Only the display area of the frame is drawn, upscaled first if an Upscaler is active
+    private void drawFrameImage(Graphics2D graphics, int buffer, int serial, int effectiveWidth, int effectiveHeight) {
+        Upscaler upscaler = Upscaler.MODES[upscalerMode];
+        if (upscaler == null) {
+            graphics.drawImage(frameImages[buffer], 0, 0, effectiveWidth, effectiveHeight,
+                    displayOriginX, displayOriginY, displayOriginX + displayWidth, displayOriginY + displayHeight, null);
+            return;
+        }
+        BufferedImage upscaled = upscaledFrames.upscaled(upscaler, serial,
+                signalColors == null ? buffers[buffer] : indexBuffers[buffer], indexColors, lineHashes[buffer],
+                VideoStandard.PAL.width, displayOriginX, displayOriginY, displayWidth, displayHeight);
+        graphics.drawImage(upscaled, 0, 0, effectiveWidth, effectiveHeight,
+                0, 0, displayWidth * upscaler.factor, displayHeight * upscaler.factor, null);
     }
 
     private void renderScanlines(Graphics2D graphics, int effectiveWidth, int effectiveHeight) {
@@ -542,48 +720,55 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         graphics.drawImage(scanlinesTextureImage, 0, 0, effectiveWidth, effectiveHeight, 0, 0, effectiveWidth, effectiveHeight, null);
     }
 
-    private synchronized void setDisplayDefaultSize() {
-        setDisplaySize(DEFAULT_WIDTH, DEFAULT_HEIGHT_PCT);
-        setDisplayOrigin(DEFAULT_ORIGIN_X, DEFAULT_ORIGIN_Y_PCT);
-        if (display != null) {
-            float scX = display.displayDefaultOpenningScaleX(displayWidth, displayHeight);
-            setDisplayScale(scX, scX / DEFAULT_SCALE_ASPECT_X);
-        } else
-            setDisplayScale(DEFAULT_SCALE_X, DEFAULT_SCALE_Y);
-        displayCenter();
+    // Display size and origin are changed only with the refresh excluded, never holding up lines being received
+    private void setDisplayDefaultSize() {
+        synchronized (refreshMonitor) {
+            setDisplaySize(DEFAULT_WIDTH, DEFAULT_HEIGHT_PCT);
+            setDisplayOrigin(DEFAULT_ORIGIN_X, DEFAULT_ORIGIN_Y_PCT);
+            if (display != null) {
+                float scX = display.displayDefaultOpenningScaleX(displayWidth, displayHeight);
+                setDisplayScale(scX, scX / DEFAULT_SCALE_ASPECT_X);
+            } else
+                setDisplayScale(DEFAULT_SCALE_X, DEFAULT_SCALE_Y);
+            displayCenter();
+        }
     }
 
-    private synchronized void setDisplayOrigin(int x, double yPct) {
-        displayOriginX = x;
-        if (displayOriginX < 0) displayOriginX = 0;
-        else if (displayOriginX > signalWidth - displayWidth) displayOriginX = signalWidth - displayWidth;
-
-        displayOriginYPct = yPct;
-        if (displayOriginYPct < 0) displayOriginYPct = 0;
-        else if ((displayOriginYPct / 100 * signalHeight) > signalHeight - displayHeight)
-            displayOriginYPct = ((double) signalHeight - displayHeight) / signalHeight * 100;
-
-        // Compute final display originY, adding a little for additional lines as discovered in last video standard detection
-        int adtOriginY = videoStandardDetectionAdtLinesPerFrame / 2;
-        displayOriginY = (int) (displayOriginYPct / 100 * signalHeight) + adtOriginY;
-        if ((displayOriginY + displayHeight) > signalHeight) displayOriginY = signalHeight - displayHeight;
+    private void setDisplayOrigin(int x, double yPct) {
+        synchronized (refreshMonitor) {
+            displayOriginX = x;
+            if (displayOriginX < 0) displayOriginX = 0;
+            else if (displayOriginX > signalWidth - displayWidth) displayOriginX = signalWidth - displayWidth;
+
+            displayOriginYPct = yPct;
+            if (displayOriginYPct < 0) displayOriginYPct = 0;
+            else if ((displayOriginYPct / 100 * signalHeight) > signalHeight - displayHeight)
+                displayOriginYPct = ((double) signalHeight - displayHeight) / signalHeight * 100;
+
+            // Compute final display originY, adding a little for additional lines as discovered in last video standard detection
+            int adtOriginY = videoStandardDetectionAdtLinesPerFrame / 2;
+            displayOriginY = (int) (displayOriginYPct / 100 * signalHeight) + adtOriginY;
+            if ((displayOriginY + displayHeight) > signalHeight) displayOriginY = signalHeight - displayHeight;
+        }
     }
 
-    private synchronized void setDisplaySize(int width, double heightPct) {
-        displayWidth = width;
-        if (displayWidth < 10) displayWidth = 10;
-        else if (displayWidth > signalWidth) displayWidth = signalWidth;
+    private void setDisplaySize(int width, double heightPct) {
+        synchronized (refreshMonitor) {
+            displayWidth = width;
+            if (displayWidth < 10) displayWidth = 10;
+            else if (displayWidth > signalWidth) displayWidth = signalWidth;
 
-        displayHeightPct = heightPct;
-        if (displayHeightPct < 10) displayHeightPct = 10;
-        else if (displayHeightPct > 100) displayHeightPct = 100;
+            displayHeightPct = heightPct;
+            if (displayHeightPct < 10) displayHeightPct = 10;
+            else if (displayHeightPct > 100) displayHeightPct = 100;
 
-        // Compute final display height, considering additional lines as discovered in last video standard detection
-        displayHeight = (int) (displayHeightPct / 100 * (signalHeight + videoStandardDetectionAdtLinesPerFrame));
-        if (displayHeight > signalHeight) displayHeight = signalHeight;
+            // Compute final display height, considering additional lines as discovered in last video standard detection
+            displayHeight = (int) (displayHeightPct / 100 * (signalHeight + videoStandardDetectionAdtLinesPerFrame));
+            if (displayHeight > signalHeight) displayHeight = signalHeight;
 
-        setDisplayOrigin(displayOriginX, displayOriginYPct);
-        displayUpdateSize();
+            setDisplayOrigin(displayOriginX, displayOriginYPct);
+            displayUpdateSize();
+        }
     }
 
     private void setDisplayScale(float x, float y) {
@@ -657,6 +842,18 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         return false;
     }
 
+    private void upscalerModeToggle() {
+        setUpscalerMode(upscalerMode + 1);
+        showOSD("Upscaler: " + Upscaler.MODE_NAMES[upscalerMode], true);
+    }
+
+    private void setUpscalerMode(int mode) {
+        synchronized (refreshMonitor) {
+            upscalerMode = mode >= Upscaler.MODES.length || mode < 0 ? 0 : mode;
+            if (upscalerMode > 0 && upscaledFrames == null) upscaledFrames = new UpscaledFrames();
+        }
+    }
+
     private void crtModeToggle() {
         setCrtMode(crtMode + 1);
     }
@@ -701,8 +898,12 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
             case CRT_MODES:
                 crtModeToggle();
                 break;
+            case UPSCALER_MODES:
+                upscalerModeToggle();
+                break;
             case STATS:
                 showStats = !showStats;
+                framesDropped = framesDuplicated = 0;
                 showOSD(null, true);
                 break;
             case DEBUG:
@@ -774,7 +975,7 @@ public final class Monitor implements ClockDriven, VideoMonitor, CartridgeInsert
         LOAD_CARTRIDGE_EMPTY,
         LOAD_CARTRIDGE_PASTE,
         SAVE_STATE_CARTRIDGE,
-        CRT_FILTER, CRT_MODES,
+        CRT_FILTER, CRT_MODES, UPSCALER_MODES,
         DEBUG, STATS
     }
 
@@ -28,6 +28,7 @@ public final class MonitorControls implements KeyListener {
     private static final int KEY_CART_SAVESTATE = KeyEvent.VK_F8;
     private static final int KEY_CRT_FILTER = KeyEvent.VK_T;
     private static final int KEY_CRT_MODES = KeyEvent.VK_R;
+    private static final int KEY_UPSCALER_MODES = KeyEvent.VK_U;
     private static final int KEY_DEBUG = KeyEvent.VK_D;
     private static final int KEY_STATS = KeyEvent.VK_G;
     private final Map<Integer, Control> keyCodeMap = new HashMap<>();
@@ -59,6 +60,7 @@ public final class MonitorControls implements KeyListener {
         keyAltCodeMap.put(KEY_DEBUG, Control.DEBUG);
         keyAltCodeMap.put(KEY_STATS, Control.STATS);
         keyAltCodeMap.put(KEY_CRT_MODES, Control.CRT_MODES);
+        keyAltCodeMap.put(KEY_UPSCALER_MODES, Control.UPSCALER_MODES);
         keyAltCodeMap.put(KEY_CART_FILE, Control.LOAD_CARTRIDGE_FILE_NO_AUTO_POWER);
         keyAltCodeMap.put(KEY_CART_URL, Control.LOAD_CARTRIDGE_URL_NO_AUTO_POWER);
 
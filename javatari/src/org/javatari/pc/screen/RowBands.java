@@ -0,0 +1,51 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.pc.screen;
+
+import org.javatari.parameters.Parameters;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Renders the rows of an image split in horizontal bands, in parallel on the common fork-join pool
+final class RowBands {
+
+    private static final int THREADS = Parameters.SCREEN_CRT_THREADS < 0
+            ? Runtime.getRuntime().availableProcessors() : Math.max(Parameters.SCREEN_CRT_THREADS, 1);
+
+    interface Rows {
+        void render(int startY, int endY);
+    }
+
+    static void render(int height, int minBandHeight, Rows rows) {
+        if (THREADS == 1 || height < minBandHeight * 2)
+            rows.render(0, height);
+        else
+            ForkJoinPool.commonPool().invoke(new Band(rows, 0, height, Math.max(height / THREADS, minBandHeight)));
+    }
+
+    // Splits the rows in halves until bands are small enough, keeping band limits on even rows
+    private static final class Band extends RecursiveAction {
+        public static final long serialVersionUID = 0L;
+        private final Rows rows;
+        private final int startY, endY, bandHeight;
+
+        Band(Rows rows, int startY, int endY, int bandHeight) {
+            this.rows = rows;
+            this.startY = startY;
+            this.endY = endY;
+            this.bandHeight = bandHeight;
+        }
+
+        @Override
+        protected void compute() {
+            if (endY - startY <= bandHeight) {
+                rows.render(startY, endY);
+                return;
+            }
+            int middleY = (startY + (endY - startY) / 2) & ~1;
+            invokeAll(new Band(rows, startY, middleY, bandHeight), new Band(rows, middleY, endY, bandHeight));
+        }
+    }
+
+}
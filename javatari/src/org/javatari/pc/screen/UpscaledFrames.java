@@ -0,0 +1,153 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.pc.screen;
+
+import org.javatari.general.av.video.VideoStandard;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Frames upscaled into cached images. Keeps the last two frames upscaled, so the current and previous frames displayed
+// for CRT retention are scaled only once each. Lines with the same hashes as the frame replaced are not scaled again
+final class UpscaledFrames {
+
+    private static final int MAX_WIDTH = VideoStandard.PAL.width;
+    private static final int MAX_HEIGHT = VideoStandard.PAL.height;
+    private static final int MAX_FACTOR = 3;
+    private static final int MIN_BAND_HEIGHT = 16;
+
+    private final int srcStride = MAX_WIDTH + Upscaler.BORDER * 2;
+    private final int[] src = new int[srcStride * (MAX_HEIGHT + Upscaler.BORDER * 2)];
+    private final int[] yuv = new int[src.length];
+    private final long[] srcHashes = new long[MAX_HEIGHT];    // Line hashes of the frame in the source, 0 for unknown
+    private Key srcKey;                                       // Settings of the frame in the source
+    private boolean srcYUV;
+
+    private final BufferedImage[] images = new BufferedImage[2];
+    private final int[][] pixels = new int[2][];
+    private final Key[] keys = new Key[2];
+    private final long[][] hashes = new long[2][MAX_HEIGHT];
+    private final boolean[] changed = new boolean[MAX_HEIGHT];
+    private final boolean[] dirty = new boolean[MAX_HEIGHT];
+    private int lastUsed = 0;
+
+    UpscaledFrames() {
+        for (int i = 0; i < images.length; i++) {
+            images[i] = new BufferedImage(MAX_WIDTH * MAX_FACTOR, MAX_HEIGHT * MAX_FACTOR, BufferedImage.TYPE_INT_ARGB);
+            pixels[i] = ((DataBufferInt) images[i].getRaster().getDataBuffer()).getData();
+        }
+    }
+
+    // Returns an image with the frame area upscaled at its top left. Frames are identified by serial, and pixels
+    // are either ARGB ints or bytes indexing colors. Anything else that changes the result is part of the cache key
+    // Line hashes are optional, 0 meaning unknown contents
+    BufferedImage upscaled(Upscaler upscaler, int serial, Object frame, int[] colors, long[] lineHashes,
+                           int stride, int originX, int originY, int width, int height) {
+        final Key key = new Key(upscaler, serial, colors, originX, originY, width, height);
+        for (int i = 0; i < images.length; i++)
+            if (key.equals(keys[i])) {
+                lastUsed = i;
+                return images[i];
+            }
+
+        final int slot = 1 - lastUsed;
+        lastUsed = slot;
+        markDirtyLines(slot, key, lineHashes, originY, height);
+        keys[slot] = key;
+        prepareSource(key, frame, colors, lineHashes, stride, originX, originY, width, height, upscaler.needsYUV());
+        final int[] dst = pixels[slot];
+        final int dstStride = images[slot].getWidth();
+        RowBands.render(height, MIN_BAND_HEIGHT, (startY, endY) -> {
+            for (int y = startY; y < endY; ) {
+                if (!dirty[y]) {
+                    y++;
+                    continue;
+                }
+                int runEnd = y + 1;
+                while (runEnd < endY && dirty[runEnd]) runEnd++;
+                upscaler.scale(src, yuv, srcStride, width, y, runEnd, dst, dstStride);
+                y = runEnd;
+            }
+        });
+        return images[slot];
+    }
+
+    // Lines need scaling if any source line they read changed from the frame in the slot, scaled with the same settings
+    private void markDirtyLines(int slot, Key key, long[] lineHashes, int originY, int height) {
+        final long[] slotHashes = hashes[slot];
+        final boolean sameSettings = key.sameSettings(keys[slot]);
+        for (int y = 0; y < height; y++)
+            changed[y] = !sameSettings || lineHashes == null || lineHashes[originY + y] == 0
+                    || lineHashes[originY + y] != slotHashes[originY + y];
+        // Each line scaled reads neighbors up to the border distance
+        for (int y = 0; y < height; y++) {
+            dirty[y] = false;
+            for (int n = Math.max(y - Upscaler.BORDER, 0), end = Math.min(y + Upscaler.BORDER, height - 1); n <= end; n++)
+                if (changed[n]) dirty[y] = true;
+        }
+        if (lineHashes != null) System.arraycopy(lineHashes, originY, slotHashes, originY, height);
+        else Arrays.fill(slotHashes, 0);
+    }
+
+    // Copies the frame area as ARGB, repeating the edge pixels over the border
+    // Only lines that changed from the frame already in the source, with the same settings, are copied again
+    private void prepareSource(Key key, Object frame, int[] colors, long[] lineHashes,
+                               int stride, int originX, int originY, int width, int height, boolean yuvs) {
+        final int border = Upscaler.BORDER;
+        final boolean sameSource = key.sameSettings(srcKey) && (srcYUV || !yuvs);
+        for (int y = 0; y < height; y++) {
+            final long hash = lineHashes == null ? 0 : lineHashes[originY + y];
+            if (sameSource && hash != 0 && hash == srcHashes[y]) continue;
+            srcHashes[y] = hash;
+            final int line = (originY + y) * stride + originX;
+            // Edge lines are also repeated over the border
+            for (int row = y == 0 ? -border : y, end = y == height - 1 ? y + border : y; row <= end; row++)
+                prepareSourceRow(frame, colors, line, row, width, yuvs);
+        }
+        srcKey = key;
+        srcYUV = yuvs;
+    }
+
+    private void prepareSourceRow(Object frame, int[] colors, int line, int row, int width, boolean yuvs) {
+        final int border = Upscaler.BORDER;
+        int s = (row + border) * srcStride;
+        for (int x = -border; x < width + border; x++, s++) {
+            final int p = line + Math.min(Math.max(x, 0), width - 1);
+            src[s] = colors == null ? ((int[]) frame)[p] : colors[((byte[]) frame)[p] & 0xff];
+            if (yuvs) yuv[s] = Upscaler.yuv(src[s]);
+        }
+    }
+
+    private static final class Key {
+        private final Upscaler upscaler;
+        private final int[] colors;
+        private final int serial, originX, originY, width, height;
+
+        Key(Upscaler upscaler, int serial, int[] colors, int originX, int originY, int width, int height) {
+            this.upscaler = upscaler;
+            this.serial = serial;
+            this.colors = colors;
+            this.originX = originX;
+            this.originY = originY;
+            this.width = width;
+            this.height = height;
+        }
+
+        boolean sameSettings(Key k) {
+            return k != null && upscaler == k.upscaler && colors == k.colors
+                    && originX == k.originX && originY == k.originY && width == k.width && height == k.height;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && serial == ((Key) obj).serial && sameSettings((Key) obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return serial;
+        }
+    }
+
+}
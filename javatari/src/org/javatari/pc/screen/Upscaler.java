@@ -0,0 +1,143 @@
+// Copyright 2011-2012 Paulo Augusto Peccin. See licence.txt distributed with this file.
+
+package org.javatari.pc.screen;
+
+// Edge-aware pixel art upscalers, applied to the frame display area before it is drawn
+// Source pixels are ARGB with a border of 2 pixels repeating the edges, so neighbors never need bounds checks
+abstract class Upscaler {
+
+    static final Upscaler[] MODES = {null, new Scale2x(), new Scale3x(), new XBRLite()};
+    static final String[] MODE_NAMES = {"OFF", "Scale2x", "Scale3x", "xBR-lite"};
+    static final int BORDER = 2;
+
+    final int factor;
+
+    Upscaler(int factor) {
+        this.factor = factor;
+    }
+
+    // Luma and chroma of the source pixels, needed only by upscalers that measure color distances
+    boolean needsYUV() {
+        return false;
+    }
+
+    // Scales source rows startY to endY into the destination. Pixel (x, y) is at (y + BORDER) * srcStride + x + BORDER
+    abstract void scale(int[] src, int[] yuv, int srcStride, int width, int startY, int endY, int[] dst, int dstStride);
+
+
+    // Scale2x (AdvMAME2x): each pixel becomes 2x2, taking the color of neighbors meeting at each corner
+    private static final class Scale2x extends Upscaler {
+        Scale2x() {
+            super(2);
+        }
+
+        @Override
+        void scale(int[] src, int[] yuv, int srcStride, int width, int startY, int endY, int[] dst, int dstStride) {
+            for (int y = startY; y < endY; y++) {
+                int p = (y + BORDER) * srcStride + BORDER;
+                int o = y * 2 * dstStride;
+                for (int x = 0; x < width; x++, p++, o += 2) {
+                    final int b = src[p - srcStride], d = src[p - 1], e = src[p], f = src[p + 1], h = src[p + srcStride];
+                    if (b != h && d != f) {
+                        dst[o] = d == b ? d : e;
+                        dst[o + 1] = b == f ? f : e;
+                        dst[o + dstStride] = d == h ? d : e;
+                        dst[o + dstStride + 1] = h == f ? f : e;
+                    } else
+                        dst[o] = dst[o + 1] = dst[o + dstStride] = dst[o + dstStride + 1] = e;
+                }
+            }
+        }
+    }
+
+    // Scale3x (AdvMAME3x): each pixel becomes 3x3, also considering the diagonal neighbors for the edge centers
+    private static final class Scale3x extends Upscaler {
+        Scale3x() {
+            super(3);
+        }
+
+        @Override
+        void scale(int[] src, int[] yuv, int srcStride, int width, int startY, int endY, int[] dst, int dstStride) {
+            for (int y = startY; y < endY; y++) {
+                int p = (y + BORDER) * srcStride + BORDER;
+                int o = y * 3 * dstStride;
+                for (int x = 0; x < width; x++, p++, o += 3) {
+                    final int a = src[p - srcStride - 1], b = src[p - srcStride], c = src[p - srcStride + 1];
+                    final int d = src[p - 1], e = src[p], f = src[p + 1];
+                    final int g = src[p + srcStride - 1], h = src[p + srcStride], i = src[p + srcStride + 1];
+                    final int o1 = o + dstStride, o2 = o1 + dstStride;
+                    if (b != h && d != f) {
+                        dst[o] = d == b ? d : e;
+                        dst[o + 1] = (d == b && e != c) || (b == f && e != a) ? b : e;
+                        dst[o + 2] = b == f ? f : e;
+                        dst[o1] = (d == b && e != g) || (d == h && e != a) ? d : e;
+                        dst[o1 + 1] = e;
+                        dst[o1 + 2] = (b == f && e != i) || (h == f && e != c) ? f : e;
+                        dst[o2] = d == h ? d : e;
+                        dst[o2 + 1] = (d == h && e != i) || (h == f && e != g) ? h : e;
+                        dst[o2 + 2] = h == f ? f : e;
+                    } else {
+                        dst[o] = dst[o + 1] = dst[o + 2] = e;
+                        dst[o1] = dst[o1 + 1] = dst[o1 + 2] = e;
+                        dst[o2] = dst[o2 + 1] = dst[o2 + 2] = e;
+                    }
+                }
+            }
+        }
+    }
+
+    // xBR 2x with only the first level of edge detection. Each corner compares the weighted color distances
+    // across and along its diagonal, and blends half way to the closest neighbor when an edge crosses it
+    private static final class XBRLite extends Upscaler {
+        XBRLite() {
+            super(2);
+        }
+
+        @Override
+        boolean needsYUV() {
+            return true;
+        }
+
+        @Override
+        void scale(int[] src, int[] yuv, int srcStride, int width, int startY, int endY, int[] dst, int dstStride) {
+            for (int y = startY; y < endY; y++) {
+                int p = (y + BORDER) * srcStride + BORDER;
+                int o = y * 2 * dstStride;
+                for (int x = 0; x < width; x++, p++, o += 2) {
+                    dst[o] = corner(src, yuv, p, -1, -srcStride);
+                    dst[o + 1] = corner(src, yuv, p, 1, -srcStride);
+                    dst[o + dstStride] = corner(src, yuv, p, -1, srcStride);
+                    dst[o + dstStride + 1] = corner(src, yuv, p, 1, srcStride);
+                }
+            }
+        }
+
+        // Neighbors named as for the bottom right corner, with dx and dy pointing to that corner
+        private static int corner(int[] src, int[] yuv, int e, int dx, int dy) {
+            final int f = e + dx, h = e + dy, i = f + dy;
+            final int edgeAlong = dist(yuv, e, e + dx - dy) + dist(yuv, e, e - dx + dy)
+                    + dist(yuv, i, f + dx) + dist(yuv, i, h + dy) + 4 * dist(yuv, h, f);
+            final int edgeAcross = dist(yuv, h, e - dx) + dist(yuv, h, i + dy)
+                    + dist(yuv, f, i + dx) + dist(yuv, f, e - dy) + 4 * dist(yuv, e, i);
+            if (edgeAlong >= edgeAcross) return src[e];
+            final int closest = dist(yuv, e, f) <= dist(yuv, e, h) ? src[f] : src[h];
+            return 0xff000000 | ((src[e] & 0xfefefe) >>> 1) + ((closest & 0xfefefe) >>> 1);
+        }
+
+        private static int dist(int[] yuv, int a, int b) {
+            final int p = yuv[a], q = yuv[b];
+            return 48 * Math.abs((p >> 16) - (q >> 16)) + 7 * Math.abs(((p >> 8) & 0xff) - ((q >> 8) & 0xff))
+                    + 6 * Math.abs((p & 0xff) - (q & 0xff));
+        }
+    }
+
+    // Luma and chroma packed as 0x00YYUUVV, chroma centered at 128
+    static int yuv(int argb) {
+        final int r = (argb >> 16) & 0xff, g = (argb >> 8) & 0xff, b = argb & 0xff;
+        final int y = (299 * r + 587 * g + 114 * b) / 1000;
+        final int u = (-169 * r - 331 * g + 500 * b) / 1000 + 128;
+        final int v = (500 * r - 419 * g - 81 * b) / 1000 + 128;
+        return y << 16 | u << 8 | v;
+    }
+
+}
@@ -3,6 +3,7 @@
 package org.javatari.pc.speaker;
 
 import org.javatari.general.av.audio.AudioMonitor;
+import org.javatari.general.av.audio.AudioRingBuffer;
 import org.javatari.general.av.audio.AudioSignal;
 import org.javatari.general.board.Clock;
 import org.javatari.general.board.ClockDriven;
@@ -11,24 +12,23 @@ import org.javatari.parameters.Parameters;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.SourceDataLine;
-import java.nio.ByteBuffer;
 
 
 public final class Speaker implements ClockDriven, AudioMonitor {
 
     private static final double FPS = Parameters.SPEAKER_DEFAULT_FPS;
+    private static final Clock.Pacing CLOCK_PACING = Clock.Pacing.values()[Parameters.SPEAKER_CLOCK_PACING];
     private static final int SAMPLE_RATE = Parameters.TIA_AUDIO_SAMPLE_RATE;
-    private static final int INPUT_BUFFER_SIZE = Parameters.SPEAKER_INPUT_BUFFER_SIZE;                            // In frames (samples)
-    private static final int OUTPUT_BUFFER_SIZE = Parameters.SPEAKER_OUTPUT_BUFFER_SIZE;                        // In frames (samples)
+    private static final int INPUT_BUFFER_SIZE = Parameters.SPEAKER_INPUT_BUFFER_SIZE;                            // In frames (samples) at the TIA rate
+    private static final int OUTPUT_BUFFER_SIZE = Parameters.SPEAKER_OUTPUT_BUFFER_SIZE;                        // In frames (samples) at the TIA rate
     private static final int OUTPUT_BUFFER_FULL_SLEEP_TIME = Parameters.SPEAKER_OUTPUT_BUFFER_FULL_SLEEP_TIME;    // In milliseconds
     private static final int NO_DATA_SLEEP_TIME = Parameters.SPEAKER_NO_DATA_SLEEP_TIME;                        // In milliseconds
     private static final int ADDED_THREAD_PRIORITY = Parameters.SPEAKER_ADDED_THREAD_PRIORITY;
-    private final AudioFormat AUDIO_FORMAT = new AudioFormat(SAMPLE_RATE, 8, 1, true, false);
     public Clock clock;
     private AudioSignal signal;
     private SourceDataLine dataLine;
-    private ByteBuffer inputBuffer;
-    private byte[] tempBuffer;
+    private AudioRingBuffer inputBuffer;
+    private int frameBytes = 1;
     private boolean triedToGetLine = false;
 
     public void connect(AudioSignal signal) {    // Must be powered off to connect a signal
@@ -58,80 +58,106 @@ public final class Speaker implements ClockDriven, AudioMonitor {
     }
 
     @Override
-    public synchronized int nextSamples(byte[] buffer, int quant) {
+    public int nextSamples(byte[] buffer, int quant) {
         if (dataLine == null) return -1;
         if (buffer == null) {        // Signal is off
             dataLine.flush();
             return -1;
         }
-        // Drop samples that don't fit the input buffer available capacity
-        int ava = inputBuffer.remaining();
-        if (ava > quant)
-            ava = quant;
-        // else
-        // if (ava < quant) System.out.println(">>>> DROPPED: " + quant + " - " + ava + " = " + (quant - ava));
-        inputBuffer.put(buffer, 0, ava);
-
-        // System.out.println(">>>> Available: " + inputBuffer.position());
-        return inputBuffer.position();
+        // For signals not putting samples directly in the ring buffer. Samples that don't fit are dropped
+        if (frameBytes == 2)
+            for (int i = 0; i < quant - 1; i += 2)
+                inputBuffer.put16((buffer[i] & 0xff) | buffer[i + 1] << 8);
+        else
+            for (int i = 0; i < quant; i++)
+                inputBuffer.put(buffer[i]);
+        inputBuffer.publish();
+
+        // System.out.println(">>>> Available: " + inputBuffer.size());
+        return inputBuffer.size();
+    }
+
+    @Override
+    public float bufferLevel() {
+        if (dataLine == null) return -1;
+        // Ideal is the output line full, plus about a frame waiting in the input buffer to keep it full
+        int lineSize = dataLine.getBufferSize();
+        return (float) (inputBuffer.size() + lineSize - dataLine.available()) / (lineSize * 3 / 2);
+    }
+
+    @Override
+    public AudioRingBuffer ringBuffer() {
+        return dataLine != null ? inputBuffer : null;
     }
 
     @Override
     public void synchOutput() {
-        refresh();
+        // The input buffer has a single consumer: the clock when it pulses on its own, or else whoever synchs
+        if (FPS == 0) refresh();
     }
 
     @Override
     public void clockPulse() {
-        synchOutput();
+        refresh();
     }
 
     private void getLine() {
         if (signal == null) return;
         try {
             triedToGetLine = true;
-            dataLine = AudioSystem.getSourceDataLine(AUDIO_FORMAT);
-            dataLine.open(AUDIO_FORMAT, OUTPUT_BUFFER_SIZE);
-            inputBuffer = ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE);
-            tempBuffer = new byte[inputBuffer.capacity()];
+            AudioFormat format = new AudioFormat(signal.sampleRate(), signal.sampleBits(), 1, true, false);
+            frameBytes = format.getFrameSize();
+            dataLine = AudioSystem.getSourceDataLine(format);
+            dataLine.open(format, bufferBytes(OUTPUT_BUFFER_SIZE));
+            inputBuffer = new AudioRingBuffer(bufferBytes(INPUT_BUFFER_SIZE));
             if (ADDED_THREAD_PRIORITY != 0) clock.setPriority(Thread.NORM_PRIORITY + ADDED_THREAD_PRIORITY);
             System.out.println("Sound Mixer Line: " + dataLine.getClass().getSimpleName());
-            clock = new Clock("Speaker", this, FPS);
+            clock = new Clock("Speaker", this, FPS, CLOCK_PACING);
+            clock.onDemand(FPS < 0);
         } catch (Exception ex) {
             System.out.println("Unable to acquire audio line:\n" + ex);
             dataLine = null;
         }
     }
 
-    private synchronized int getFromInputBuffer(byte[] buffer, int quant) {
-        inputBuffer.flip();
-        int ava = inputBuffer.remaining();
-        if (ava > quant)
-            ava = quant;
-        inputBuffer.get(buffer, 0, ava);
-        inputBuffer.compact();
-        return ava;
+    // Buffer sizes are set for the TIA audio rate. Keeps the same durations at the signal rate
+    private int bufferBytes(int samples) {
+        return (int) ((long) samples * signal.sampleRate() / SAMPLE_RATE) * frameBytes;
+    }
+
+    // Writes samples straight from the input buffer array to the line, in up to two parts when they wrap around
+    private int writeFromInputBuffer(int quant) {
+        quant -= quant % frameBytes;
+        int written = 0;
+        while (written < quant) {
+            int part = Math.min(inputBuffer.contiguousAvailable(), quant - written);
+            if (part <= 0) break;
+            dataLine.write(inputBuffer.array(), inputBuffer.readOffset(), part);
+            inputBuffer.consumed(part);
+            written += part;
+        }
+        return written;
     }
 
     private void refresh() {
         if (dataLine == null) return;
         int ava = dataLine.available();        // this is a little expensive... :-(
 
-        // System.out.println(">> Out: " + (OUTPUT_BUFFER_SIZE - ava) + "\tIn: " + inputBuffer.position());
+        // System.out.println(">> Out: " + (OUTPUT_BUFFER_SIZE - ava) + "\tIn: " + inputBuffer.size());
 
         if (ava == 0) {
-            // System.out.println("+ OutputBuffer FULL, InputBuffer: " + inputBuffer.position());
-            if (OUTPUT_BUFFER_FULL_SLEEP_TIME > 0 && FPS < 0)
+            // System.out.println("+ OutputBuffer FULL, InputBuffer: " + inputBuffer.size());
+            if (OUTPUT_BUFFER_FULL_SLEEP_TIME > 0 && FPS < 0 && !clock.scheduled())
                 try {
                     Thread.sleep(OUTPUT_BUFFER_FULL_SLEEP_TIME, 0);
                 } catch (InterruptedException ignored) {
                 }
             return;
         }
-        int data = getFromInputBuffer(tempBuffer, ava);
+        int data = writeFromInputBuffer(ava);
         if (data == 0) {
             // System.out.println("- InputBuffer EMPTY, OutputBuffer: " + (OUTPUT_BUFFER_SIZE - ava));
-            if (NO_DATA_SLEEP_TIME > 0 && FPS < 0)
+            if (NO_DATA_SLEEP_TIME > 0 && FPS < 0 && !clock.scheduled())
                 try {
                     Thread.sleep(NO_DATA_SLEEP_TIME, 0);
                 } catch (InterruptedException ignored) {
@@ -139,8 +165,7 @@ public final class Speaker implements ClockDriven, AudioMonitor {
             return;
         }
 
-        dataLine.write(tempBuffer, 0, data);
-        if (FPS < 0)
+        if (FPS < 0 && !clock.scheduled())
             try {
                 Thread.sleep(OUTPUT_BUFFER_FULL_SLEEP_TIME, 0);
             } catch (InterruptedException ignored) {